@@ -0,0 +1,137 @@
+package com.mentorconnect.benchmark;
+
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic datasets shared by the benchmarks. The same seed always
+ * produces the same mentors, so results are comparable between runs and releases.
+ */
+final class BenchmarkData {
+
+    static final String[] COMPANIES = {
+            "Google", "Microsoft", "Amazon", "Flipkart", "Atlassian", "Adobe", "Uber", "Swiggy",
+            "Zomato", "Razorpay", "Meta", "Salesforce", "Oracle", "Intuit", "PhonePe", "Walmart"
+    };
+
+    static final String[] SKILLS = {
+            "Java", "Spring Boot", "React", "System Design", "DSA", "Python", "Machine Learning",
+            "Kubernetes", "AWS", "Go", "Node.js", "SQL", "Android", "iOS", "DevOps", "Rust"
+    };
+
+    static final String[] COLLEGES = {
+            "IIT Bombay", "IIT Delhi", "IIT Madras", "NIT Trichy", "BITS Pilani", "IIIT Hyderabad",
+            "DTU", "NSUT", "VIT Vellore", "Manipal Institute of Technology", "IIT Kanpur", "NIT Surathkal"
+    };
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    static List<MentorProfile> mentors(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime epoch = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<MentorProfile> mentors = new ArrayList<>(count);
+
+        for (int i = 1; i <= count; i++) {
+            User user = User.builder()
+                    .id((long) i)
+                    .name("Mentor " + i)
+                    .email("mentor" + i + "@example.com")
+                    .password("x")
+                    .role(User.Role.MENTOR)
+                    .build();
+
+            List<String> skills = new ArrayList<>();
+            int skillCount = 1 + random.nextInt(4);
+            for (int s = 0; s < skillCount; s++) {
+                skills.add(pick(random, SKILLS));
+            }
+            List<String> previous = new ArrayList<>();
+            int previousCount = random.nextInt(3);
+            for (int c = 0; c < previousCount; c++) {
+                previous.add(pick(random, COMPANIES));
+            }
+
+            MentorProfile profile = MentorProfile.builder()
+                    .id((long) i)
+                    .user(user)
+                    .whatsappNumber("+91" + (9000000000L + i))
+                    .collegeName(pick(random, COLLEGES))
+                    .passoutYear(2010 + random.nextInt(15))
+                    .currentCompany(pick(random, COMPANIES))
+                    .previousCompanies(previous)
+                    .experienceType(MentorProfile.ExperienceType.values()[random.nextInt(3)])
+                    .skills(skills)
+                    .bio("Mentor bio " + i)
+                    .sessionPrice(BigDecimal.valueOf(50 + random.nextInt(951)))
+                    .sessionDuration(30)
+                    .isActive(true)
+                    .createdAt(epoch.plusMinutes(i))
+                    .updatedAt(epoch.plusMinutes(i))
+                    .build();
+            mentors.add(profile);
+        }
+        return mentors;
+    }
+
+    static List<Booking> bookings(List<MentorProfile> mentors) {
+        Random random = new Random(SEED);
+        User mentee = User.builder()
+                .id(0L)
+                .name("Mentee")
+                .email("mentee@example.com")
+                .password("x")
+                .role(User.Role.MENTEE)
+                .build();
+
+        List<Booking> bookings = new ArrayList<>(mentors.size());
+        for (MentorProfile mentor : mentors) {
+            LocalDate date = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            LocalTime time = LocalTime.of(9 + random.nextInt(10), random.nextBoolean() ? 0 : 30);
+            Instant start = date.atTime(time).toInstant(ZoneOffset.UTC);
+            bookings.add(Booking.builder()
+                    .id(mentor.getId())
+                    .mentor(mentor)
+                    .mentee(mentee)
+                    .scheduledDate(date)
+                    .scheduledTime(time)
+                    .startUtc(start)
+                    .endUtc(start.plusSeconds(30 * 60))
+                    .duration(30)
+                    .status(Booking.BookingStatus.CONFIRMED)
+                    .price(mentor.getSessionPrice())
+                    .meetingLink("https://meet.jit.si/mentorconnect-" + mentor.getId())
+                    .createdAt(mentor.getCreatedAt())
+                    .build());
+        }
+        return bookings;
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,49 @@
+package com.mentorconnect.benchmark;
+
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.dto.MentorDTO.ProfileResponse;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.MentorProfile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping cost for a full listing of N mentors / bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int mentors;
+
+    private List<MentorProfile> profiles;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        profiles = BenchmarkData.mentors(mentors);
+        bookings = BenchmarkData.bookings(profiles);
+    }
+
+    @Benchmark
+    public void profileResponseFromEntity(Blackhole blackhole) {
+        for (MentorProfile profile : profiles) {
+            blackhole.consume(ProfileResponse.fromEntity(profile));
+        }
+    }
+
+    @Benchmark
+    public void bookingResponseFromEntity(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingResponse.fromEntity(booking));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mentorconnect.benchmark;
+
+import com.mentorconnect.entity.User;
+import com.mentorconnect.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. "uncached" disables the verified-token cache so every
+ * call pays for the HMAC check and JSON parse; "cached" measures the per-request cost
+ * for a client that keeps reusing its token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long!!";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncached = provider(0);
+        cached = provider(10000);
+        user = User.builder()
+                .id(1L)
+                .email("mentee@example.com")
+                .name("Mentee")
+                .role(User.Role.MENTEE)
+                .build();
+        token = uncached.generateToken(user);
+        cached.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims validateTokenUncached() {
+        return uncached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims validateTokenCached() {
+        return cached.parseClaims(token);
+    }
+
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        BenchmarkData.setField(provider, "jwtSecret", SECRET);
+        BenchmarkData.setField(provider, "jwtExpiration", 86400000L);
+        BenchmarkData.setField(provider, "cacheSize", cacheSize);
+        BenchmarkData.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        provider.init();
+        return provider;
+    }
+}
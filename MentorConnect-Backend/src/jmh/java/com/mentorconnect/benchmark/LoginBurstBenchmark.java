@@ -0,0 +1,100 @@
+package com.mentorconnect.benchmark;
+
+import com.mentorconnect.security.BoundedPasswordEncoder;
+import com.mentorconnect.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * One operation is a burst of 500 logins released at the same instant from 500 client
+ * threads; the score is the time until the last of them has its answer, i.e. the burst's
+ * tail latency. "unbounded" hashes on the calling thread like the old request path, so the
+ * whole burst shares the CPU; "bounded" goes through the hashing pool, which answers logins
+ * beyond threads + queue capacity immediately with a rejection (429).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoginBurstBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final int BURST = 500;
+
+    @Param({"10"})
+    private int strength;
+
+    @Param({"64"})
+    private int queueCapacity;
+
+    private PasswordEncoder unbounded;
+    private PasswordEncoder bounded;
+    private PasswordHashingExecutor executor;
+    private ThreadPoolExecutor clients;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        unbounded = new BCryptPasswordEncoder(strength);
+        hash = unbounded.encode(PASSWORD);
+
+        executor = new PasswordHashingExecutor();
+        BenchmarkData.setField(executor, "threads", 0);
+        BenchmarkData.setField(executor, "queueCapacity", queueCapacity);
+        BenchmarkData.setField(executor, "meterRegistry", new SimpleMeterRegistry());
+        executor.init();
+        bounded = new BoundedPasswordEncoder(unbounded, executor);
+
+        clients = new ThreadPoolExecutor(BURST, BURST, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        clients.prestartAllCoreThreads();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        clients.shutdown();
+    }
+
+    @Benchmark
+    public int unbounded() throws Exception {
+        return burst(unbounded);
+    }
+
+    @Benchmark
+    public int bounded() throws Exception {
+        return burst(bounded);
+    }
+
+    // Returns the number of logins that were checked rather than rejected
+    private int burst(PasswordEncoder encoder) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> logins = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            logins.add(clients.submit(() -> {
+                start.await();
+                try {
+                    return encoder.matches(PASSWORD, hash);
+                } catch (RejectedExecutionException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int checked = 0;
+        for (Future<Boolean> login : logins) {
+            if (login.get()) {
+                checked++;
+            }
+        }
+        return checked;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mentorconnect.benchmark;
+
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.SearchRequest;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.service.MentorSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mentor search filtering: the in-memory index used by MentorService.searchMentors
+ * against the original stream filter over every active profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MentorSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int mentors;
+
+    @Param({"company", "skillAndPrice", "collegeAndExperience", "allFilters"})
+    private String query;
+
+    private List<MentorProfile> profiles;
+    private MentorSearchIndex index;
+    private SearchRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        profiles = BenchmarkData.mentors(mentors);
+
+        index = new MentorSearchIndex();
+        index.load(profiles);
+
+        request = new SearchRequest();
+        switch (query) {
+            case "company" -> request.setCompany("goo");
+            case "skillAndPrice" -> {
+                request.setSkill("java");
+                request.setMinPrice(BigDecimal.valueOf(200));
+                request.setMaxPrice(BigDecimal.valueOf(600));
+            }
+            case "collegeAndExperience" -> {
+                request.setCollegeName("iit");
+                request.setExperienceType(MentorProfile.ExperienceType.FULLTIME);
+            }
+            default -> {
+                request.setCompany("a");
+                request.setSkill("s");
+                request.setCollegeName("iit");
+                request.setExperienceType(MentorProfile.ExperienceType.BOTH);
+                request.setMinPrice(BigDecimal.valueOf(100));
+                request.setMaxPrice(BigDecimal.valueOf(900));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Long> indexFirstPage() {
+        return index.search(request, MentorSort.NEWEST, null, 21);
+    }
+
+    @Benchmark
+    public List<MentorProfile> streamFilter() {
+        return profiles.stream()
+                .filter(m -> request.getCompany() == null ||
+                        m.getCurrentCompany().toLowerCase().contains(request.getCompany().toLowerCase()) ||
+                        m.getPreviousCompanies().stream()
+                                .anyMatch(c -> c.toLowerCase().contains(request.getCompany().toLowerCase())))
+                .filter(m -> request.getSkill() == null ||
+                        m.getSkills().stream()
+                                .anyMatch(s -> s.toLowerCase().contains(request.getSkill().toLowerCase())))
+                .filter(m -> request.getCollegeName() == null ||
+                        m.getCollegeName().toLowerCase().contains(request.getCollegeName().toLowerCase()))
+                .filter(m -> request.getExperienceType() == null ||
+                        m.getExperienceType() == request.getExperienceType())
+                .filter(m -> request.getMinPrice() == null ||
+                        m.getSessionPrice().compareTo(request.getMinPrice()) >= 0)
+                .filter(m -> request.getMaxPrice() == null ||
+                        m.getSessionPrice().compareTo(request.getMaxPrice()) <= 0)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.mentorconnect.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * availabilities.id used to be AUTO_INCREMENT and is now drawn from the pooled availability_seq.
+ * On MySQL that sequence is a one-row table which Hibernate creates starting at 1, so on
+ * databases that already have availability rows it is moved past the highest id in use.
+ * Databases with real sequences (H2) were never on AUTO_INCREMENT and are left alone.
+ */
+@Component
+public class AvailabilitySequenceAligner implements ApplicationRunner {
+
+    // Must be at least the generator's allocationSize
+    private static final int HEADROOM = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.update("UPDATE availability_seq SET next_val = " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 + ? FROM availabilities) " +
+                    "WHERE next_val <= (SELECT COALESCE(MAX(id), 0) + ? FROM availabilities)", HEADROOM, HEADROOM);
+        } catch (DataAccessException e) {
+            // No availability_seq table: the database has native sequences
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mentorconnect.config;
+
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.service.TimeZoneService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Bookings created before start_utc/end_utc existed only have the mentor-local date and time.
+ * Fills the instants in from the mentor's zone (the default zone, for data that old), in
+ * short batches, so every query on the UTC columns sees them. A no-op once all rows are set.
+ *
+ * Runs once all singletons exist but before the web server starts, so no request (overlap
+ * checks in particular) is served while legacy rows are still missing their instants.
+ */
+@Component
+public class BookingInstantBackfill implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer filled;
+        do {
+            filled = transactionTemplate.execute(status -> {
+                List<Booking> bookings = bookingRepository.findByStartUtcIsNull(Limit.of(BATCH_SIZE));
+                for (Booking booking : bookings) {
+                    Instant start = ZonedDateTime.of(booking.getScheduledDate(), booking.getScheduledTime(),
+                            timeZoneService.zoneOf(booking.getMentor().getUser())).toInstant();
+                    booking.setStartUtc(start);
+                    booking.setEndUtc(start.plus(Duration.ofMinutes(booking.getDuration())));
+                }
+                return bookings.size();
+            });
+        } while (filled != null && filled == BATCH_SIZE);
+    }
+}
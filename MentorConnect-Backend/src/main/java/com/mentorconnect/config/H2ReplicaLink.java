@@ -0,0 +1,71 @@
+package com.mentorconnect.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Local stand-in for replication (the replica-h2 profile): the replica is its own H2 database
+ * holding a read-only linked table for every table of the primary, so reads routed to it see
+ * the primary's rows and any write routed there by mistake fails.
+ *
+ * Links are made once all singletons exist, i.e. after Hibernate has created the primary's
+ * tables and before anything is read.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.h2-link", havingValue = "true")
+public class H2ReplicaLink implements SmartInitializingSingleton {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private DataSourceProperties primary;
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        JdbcTemplate jdbc = new JdbcTemplate(primaryDataSource);
+        String schema = jdbc.queryForObject("SELECT SCHEMA()", String.class);
+        List<String> tables = jdbc.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = ? AND table_type = 'BASE TABLE'", String.class, schema);
+
+        // Not through the replica pool: its connections are read-only
+        try (Connection connection = DriverManager.getConnection(replicaUrl, replicaUsername, replicaPassword);
+             Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE LINKED TABLE " + table + "('', " + literal(primary.getUrl()) + ", "
+                        + literal(primary.getUsername()) + ", " + literal(primary.getPassword()) + ", "
+                        + literal(schema) + ", " + literal(table) + ") READONLY");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to link replica tables: " + e.getMessage(), e);
+        }
+    }
+
+    private static String literal(String value) {
+        return "'" + (value == null ? "" : value.replace("'", "''")) + "'";
+    }
+}
@@ -0,0 +1,21 @@
+package com.mentorconnect.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested inside a @Transactional(readOnly = true) method to the
+ * replica and everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy:
+ * the transaction manager asks for a connection before the read-only flag is bound to the thread.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
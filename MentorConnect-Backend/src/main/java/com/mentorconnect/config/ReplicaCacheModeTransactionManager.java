@@ -0,0 +1,58 @@
+package com.mentorconnect.config;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-only transactions run on the replica, which may lag the primary. Their entity managers
+ * bypass the second-level and query caches: a replica read right after a write would otherwise
+ * cache the pre-write rows until the next write or the TTL. The caches are filled and used only
+ * by work on the primary; the replica takes the read load instead.
+ *
+ * Reads are bypassed too, not just puts: Hibernate still caches query results on a miss under
+ * CacheMode.GET.
+ */
+public class ReplicaCacheModeTransactionManager extends JpaTransactionManager {
+
+    // Hibernate's find() reads these properties, queries the session's cache mode; both are set
+    private static final String RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly()) {
+            EntityManager entityManager = currentEntityManager();
+            if (entityManager != null) {
+                entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+                entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            }
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        // An entity manager opened for the whole request (open-in-view) outlives the transaction
+        EntityManager entityManager = currentEntityManager();
+        if (entityManager != null && entityManager.isOpen()) {
+            entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.USE);
+            entityManager.setProperty(STORE_MODE, CacheStoreMode.USE);
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.NORMAL);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private EntityManager currentEntityManager() {
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder != null ? holder.getEntityManager() : null;
+    }
+}
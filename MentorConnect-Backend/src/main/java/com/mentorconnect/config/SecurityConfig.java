@@ -1,7 +1,9 @@
 package com.mentorconnect.config;
 
+import com.mentorconnect.security.BoundedPasswordEncoder;
 import com.mentorconnect.security.CustomUserDetailsService;
 import com.mentorconnect.security.JwtAuthenticationFilter;
+import com.mentorconnect.security.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +17,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,6 +28,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -36,12 +41,40 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.security.password.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+
+    /**
+     * New hashes use the configured algorithm and are stored with an {id} prefix. Hashes from
+     * before the prefix existed are plain BCrypt. Any hash that is not in the current
+     * algorithm/strength is rewritten on the user's next successful login.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(bcryptStrength),
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(passwordAlgorithm)) {
+            throw new IllegalStateException("Unsupported password algorithm: " + passwordAlgorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(passwordAlgorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return new BoundedPasswordEncoder(encoder, passwordHashingExecutor);
     }
 
     @Bean
@@ -49,6 +82,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash-on-login: stores the upgraded hash through userDetailsService
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -69,6 +104,11 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/mentors/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // Actuator is open on the internal management port only; on the public port
+                        // (MANAGEMENT_PORT = SERVER_PORT) metrics need an authenticated user
+                        .requestMatchers(request -> managementPort != serverPort
+                                && request.getLocalPort() == managementPort).permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
                         // Protected endpoints
                         .anyRequest().authenticated())
                 .authenticationProvider(authenticationProvider())
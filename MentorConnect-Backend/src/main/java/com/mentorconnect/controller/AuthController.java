@@ -35,4 +35,11 @@ public class AuthController {
         User user = authService.getCurrentUser(userDetails.getUsername());
         return ResponseEntity.ok(UserResponse.fromUser(user));
     }
+
+    @PutMapping("/me/time-zone")
+    public ResponseEntity<UserResponse> updateTimeZone(@AuthenticationPrincipal UserDetails userDetails,
+                                                       @Valid @RequestBody TimeZoneRequest request) {
+        User user = authService.updateTimeZone(userDetails.getUsername(), request.getTimeZone());
+        return ResponseEntity.ok(UserResponse.fromUser(user));
+    }
 }
@@ -22,13 +22,22 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody BookingRequest request) {
-        return ResponseEntity.ok(bookingService.createBooking(userDetails.getUsername(), request));
+        return ResponseEntity.ok(bookingService.createBooking(userDetails.getUsername(), request, idempotencyKey));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookingResponse> getBooking(@PathVariable Long id) {
-        return ResponseEntity.ok(bookingService.getBookingById(id));
+    public ResponseEntity<BookingResponse> getBooking(@PathVariable Long id,
+                                                      @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(bookingService.getBookingById(id, userDetails.getUsername()));
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<BookingResponse>> getUpcomingBookings(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getUpcomingBookings(userDetails.getUsername(), size));
     }
 
     @GetMapping("/mentor")
@@ -43,6 +52,22 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getMenteeBookings(userDetails.getUsername()));
     }
 
+    @GetMapping("/mentor/page")
+    public ResponseEntity<BookingPage> getMentorBookingPage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getMentorBookingPage(userDetails.getUsername(), cursor, size));
+    }
+
+    @GetMapping("/mentee/page")
+    public ResponseEntity<BookingPage> getMenteeBookingPage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getMenteeBookingPage(userDetails.getUsername(), cursor, size));
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<BookingResponse> cancelBooking(
             @PathVariable Long id,
@@ -0,0 +1,61 @@
+package com.mentorconnect.controller;
+
+import com.mentorconnect.dto.ExportDTO.Format;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.Payment;
+import com.mentorconnect.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(defaultValue = "CSV") Format format) {
+        exportService.checkRequest(userDetails.getUsername(), from, to);
+        return attachment("bookings", from, to, format,
+                out -> exportService.writeBookings(from, to, status, format, out));
+    }
+
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Payment.PaymentStatus status,
+            @RequestParam(defaultValue = "CSV") Format format) {
+        exportService.checkRequest(userDetails.getUsername(), from, to);
+        return attachment("payments", from, to, format,
+                out -> exportService.writePayments(from, to, status, format, out));
+    }
+
+    // The body is written after this returns, on an async thread, with its own transaction
+    private ResponseEntity<StreamingResponseBody> attachment(String name, LocalDate from, LocalDate to,
+            Format format, StreamingResponseBody body) {
+        String filename = name + "-" + from + "_" + to + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -2,15 +2,33 @@ package com.mentorconnect.controller;
 
 import com.mentorconnect.dto.AvailabilityDTO.*;
 import com.mentorconnect.dto.MentorDTO.*;
+import com.mentorconnect.service.CalendarService;
+import com.mentorconnect.service.MentorListingSnapshot;
 import com.mentorconnect.service.MentorService;
+import com.mentorconnect.service.SlotService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/mentors")
@@ -20,24 +38,64 @@ public class MentorController {
     @Autowired
     private MentorService mentorService;
 
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private MentorListingSnapshot mentorListingSnapshot;
+
+    // How long browsers and shared caches may reuse a public mentor response before revalidating
+    @Value("${app.http.mentor-cache.max-age-seconds:60}")
+    private long cacheMaxAgeSeconds;
+
+    // Default-size pages are written straight from the pre-serialized snapshot
     @GetMapping
-    public ResponseEntity<List<ProfileResponse>> getAllMentors() {
-        return ResponseEntity.ok(mentorService.getAllMentors());
+    public ResponseEntity<?> getAllMentors(
+            @RequestParam(defaultValue = "NEWEST") MentorSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        MentorListingSnapshot.Page page = mentorListingSnapshot.page(sort, cursor, size);
+        if (page == null) {
+            return conditional(webRequest, "mentors", mentorService.getListingsLastModified(),
+                    () -> mentorService.getAllMentors(sort, cursor, size));
+        }
+
+        boolean gzip = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // The gzip bytes are a different representation, so they get their own strong ETag
+        return conditional(webRequest, gzip ? "mentors-gzip" : "mentors", page.getLastModified(),
+                response -> response
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .headers(headers -> {
+                            if (gzip) {
+                                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                            }
+                        })
+                        .body(gzip ? page.getGzip() : page.getJson()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProfileResponse> getMentorById(@PathVariable Long id) {
-        return ResponseEntity.ok(mentorService.getMentorById(id));
+    public ResponseEntity<ProfileResponse> getMentorById(@PathVariable Long id, WebRequest webRequest) {
+        return conditional(webRequest, "mentor-" + id, mentorService.getMentorLastModified(id),
+                () -> mentorService.getMentorById(id));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ProfileResponse>> searchMentors(
+    public ResponseEntity<ProfilePage> searchMentors(
             @RequestParam(required = false) String company,
             @RequestParam(required = false) String skill,
             @RequestParam(required = false) String collegeName,
             @RequestParam(required = false) String experienceType,
             @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice) {
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "NEWEST") MentorSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
 
         SearchRequest request = new SearchRequest();
         request.setCompany(company);
@@ -54,7 +112,8 @@ public class MentorController {
             request.setMaxPrice(java.math.BigDecimal.valueOf(maxPrice));
         }
 
-        return ResponseEntity.ok(mentorService.searchMentors(request));
+        return conditional(webRequest, "mentors", mentorService.getListingsLastModified(),
+                () -> mentorService.searchMentors(request, sort, cursor, size));
     }
 
     @PutMapping("/profile")
@@ -78,7 +137,89 @@ public class MentorController {
     }
 
     @GetMapping("/{mentorId}/availability")
-    public ResponseEntity<List<AvailabilityResponse>> getAvailability(@PathVariable Long mentorId) {
-        return ResponseEntity.ok(mentorService.getAvailability(mentorId));
+    public ResponseEntity<List<AvailabilityResponse>> getAvailability(@PathVariable Long mentorId,
+                                                                      WebRequest webRequest) {
+        return conditional(webRequest, "availability-" + mentorId, mentorService.getMentorLastModified(mentorId),
+                () -> mentorService.getAvailability(mentorId));
+    }
+
+    @PostMapping("/availability/overrides")
+    public ResponseEntity<OverrideResponse> addOverride(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody OverrideRequest request) {
+        return ResponseEntity.ok(calendarService.addOverride(userDetails.getUsername(), request));
+    }
+
+    @DeleteMapping("/availability/overrides/{overrideId}")
+    public ResponseEntity<Void> deleteOverride(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long overrideId) {
+        calendarService.deleteOverride(userDetails.getUsername(), overrideId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{mentorId}/availability/overrides")
+    public ResponseEntity<List<OverrideResponse>> getOverrides(
+            @PathVariable Long mentorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Defaults to today through the calendar horizon, in the mentor's zone
+        return ResponseEntity.ok(calendarService.getOverrides(mentorId, from, to));
+    }
+
+    @GetMapping("/{mentorId}/slots")
+    public ResponseEntity<List<SlotResponse>> getOpenSlots(
+            @PathVariable Long mentorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String timeZone,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(slotService.getOpenSlots(mentorId, from, to, timeZone,
+                userDetails != null ? userDetails.getUsername() : null));
+    }
+
+    /**
+     * Answers a GET with 304 Not Modified, without building the body, when the client's
+     * If-None-Match/If-Modified-Since still matches lastModified. A null lastModified (unknown
+     * mentor) skips the check so the normal not-found handling applies.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, String resource,
+                                              LocalDateTime lastModified, Supplier<T> body) {
+        return conditional(webRequest, resource, lastModified, response -> response.body(body.get()));
+    }
+
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, String resource, LocalDateTime lastModified,
+                                              Function<ResponseEntity.BodyBuilder, ResponseEntity<T>> respond) {
+        if (lastModified == null) {
+            return respond.apply(ResponseEntity.ok());
+        }
+
+        // Strong validator: updated_at is stored with microsecond precision
+        Instant modified = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        String etag = "\"" + resource + "-" + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, modified)) + "\"";
+        long lastModifiedMillis = modified.toEpochMilli();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(cacheMaxAgeSeconds));
+
+        // checkNotModified also writes the ETag and Last-Modified headers
+        if (webRequest.checkNotModified(etag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return respond.apply(ResponseEntity.ok().cacheControl(cacheControl));
+    }
+
+    // True unless the client didn't list gzip or refused it with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
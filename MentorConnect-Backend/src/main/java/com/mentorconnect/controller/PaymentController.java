@@ -5,6 +5,8 @@ import com.mentorconnect.service.PaymentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,8 +18,11 @@ public class PaymentController {
     private PaymentService paymentService;
 
     @PostMapping("/process")
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request) {
-        return ResponseEntity.ok(paymentService.processPayment(request));
+    public ResponseEntity<PaymentResponse> processPayment(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request) {
+        return ResponseEntity.ok(paymentService.processPayment(userDetails.getUsername(), request, idempotencyKey));
     }
 
     @GetMapping("/booking/{bookingId}")
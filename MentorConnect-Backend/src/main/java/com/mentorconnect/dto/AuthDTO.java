@@ -24,6 +24,15 @@ public class AuthDTO {
 
         @NotNull(message = "Role is required")
         private User.Role role;
+
+        // IANA zone id, e.g. Asia/Kolkata; defaults to the app's zone
+        private String timeZone;
+    }
+
+    @Data
+    public static class TimeZoneRequest {
+        @NotBlank(message = "Time zone is required")
+        private String timeZone;
     }
 
     @Data
@@ -61,6 +70,7 @@ public class AuthDTO {
         private String email;
         private String phone;
         private User.Role role;
+        private String timeZone;
 
         public static UserResponse fromUser(User user) {
             UserResponse response = new UserResponse();
@@ -69,6 +79,7 @@ public class AuthDTO {
             response.setEmail(user.getEmail());
             response.setPhone(user.getPhone());
             response.setRole(user.getRole());
+            response.setTimeZone(user.getTimeZone());
             return response;
         }
     }
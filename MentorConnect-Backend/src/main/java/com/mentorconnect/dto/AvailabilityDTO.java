@@ -1,10 +1,17 @@
 package com.mentorconnect.dto;
 
 import com.mentorconnect.entity.Availability;
+import com.mentorconnect.entity.AvailabilityOverride;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 public class AvailabilityDTO {
@@ -23,6 +30,7 @@ public class AvailabilityDTO {
 
     @Data
     public static class BulkAvailabilityRequest {
+        @Valid
         private List<AvailabilityRequest> availabilities;
     }
 
@@ -44,4 +52,61 @@ public class AvailabilityDTO {
             return response;
         }
     }
+
+    @Data
+    public static class SlotResponse {
+        // date/startTime/endTime are in the viewer's zone
+        private LocalDate date;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private Instant startUtc;
+        private Instant endUtc;
+
+        public SlotResponse(Instant start, Instant end, ZoneId zone) {
+            ZonedDateTime localStart = start.atZone(zone);
+            this.date = localStart.toLocalDate();
+            this.startTime = localStart.toLocalTime();
+            this.endTime = end.atZone(zone).toLocalTime();
+            this.startUtc = start;
+            this.endUtc = end;
+        }
+    }
+
+    @Data
+    public static class OverrideRequest {
+        @NotNull(message = "Date is required")
+        private LocalDate date;
+
+        // Both empty blocks the whole day; required for AVAILABLE
+        private LocalTime startTime;
+
+        private LocalTime endTime;
+
+        @NotNull(message = "Override type is required")
+        private AvailabilityOverride.OverrideType type;
+
+        @Size(max = 255, message = "Reason must be at most 255 characters")
+        private String reason;
+    }
+
+    @Data
+    public static class OverrideResponse {
+        private Long id;
+        private LocalDate date;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private AvailabilityOverride.OverrideType type;
+        private String reason;
+
+        public static OverrideResponse fromEntity(AvailabilityOverride override) {
+            OverrideResponse response = new OverrideResponse();
+            response.setId(override.getId());
+            response.setDate(override.getOverrideDate());
+            response.setStartTime(override.getStartTime());
+            response.setEndTime(override.getEndTime());
+            response.setType(override.getType());
+            response.setReason(override.getReason());
+            return response;
+        }
+    }
 }
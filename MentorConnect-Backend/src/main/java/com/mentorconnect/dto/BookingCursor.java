@@ -0,0 +1,58 @@
+package com.mentorconnect.dto;
+
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a booking list ordered by (startUtc, id) descending: the key of the
+ * last row returned, serialized to an opaque URL-safe continuation token.
+ */
+public class BookingCursor {
+
+    private final Instant startUtc;
+    private final Long id;
+
+    private BookingCursor(Instant startUtc, Long id) {
+        this.startUtc = startUtc;
+        this.id = id;
+    }
+
+    public static BookingCursor of(BookingResponse booking) {
+        return new BookingCursor(booking.getStartUtc(), booking.getId());
+    }
+
+    public Instant getStartUtc() {
+        return startUtc;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = startUtc + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token; returns null for the first page.
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new BookingCursor(Instant.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -3,10 +3,15 @@ package com.mentorconnect.dto;
 import com.mentorconnect.entity.Booking;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 public class BookingDTO {
 
@@ -21,10 +26,19 @@ public class BookingDTO {
         @NotNull(message = "Scheduled time is required")
         private LocalTime scheduledTime;
 
+        // Zone scheduledDate/scheduledTime are in; defaults to the mentee's zone
+        private String timeZone;
+
         private String notes;
     }
 
+    /**
+     * scheduledDate/scheduledTime are the session's wall-clock time in the mentor's zone, the
+     * same for every viewer and in exports. localDate/localTime are the same start in timeZone,
+     * the zone of whoever the response was built for (set by inZone).
+     */
     @Data
+    @NoArgsConstructor
     public static class BookingResponse {
         private Long id;
         private Long mentorId;
@@ -41,6 +55,36 @@ public class BookingDTO {
         private BigDecimal price;
         private String notes;
         private LocalDateTime createdAt;
+        private Instant startUtc;
+        private Instant endUtc;
+        private LocalDate localDate;
+        private LocalTime localTime;
+        private String timeZone;
+
+        // JPQL constructor expression in BookingRepository; keep parameter order in sync
+        public BookingResponse(Long id, Long mentorId, String mentorName, String mentorEmail,
+                               Long menteeId, String menteeName, String menteeEmail,
+                               LocalDate scheduledDate, LocalTime scheduledTime, Integer duration,
+                               Booking.BookingStatus status, String meetingLink, BigDecimal price,
+                               String notes, LocalDateTime createdAt, Instant startUtc, Instant endUtc) {
+            this.id = id;
+            this.mentorId = mentorId;
+            this.mentorName = mentorName;
+            this.mentorEmail = mentorEmail;
+            this.menteeId = menteeId;
+            this.menteeName = menteeName;
+            this.menteeEmail = menteeEmail;
+            this.scheduledDate = scheduledDate;
+            this.scheduledTime = scheduledTime;
+            this.duration = duration;
+            this.status = status;
+            this.meetingLink = meetingLink;
+            this.price = price;
+            this.notes = notes;
+            this.createdAt = createdAt;
+            this.startUtc = startUtc;
+            this.endUtc = endUtc;
+        }
 
         public static BookingResponse fromEntity(Booking booking) {
             BookingResponse response = new BookingResponse();
@@ -59,7 +103,34 @@ public class BookingDTO {
             response.setPrice(booking.getPrice());
             response.setNotes(booking.getNotes());
             response.setCreatedAt(booking.getCreatedAt());
+            response.setStartUtc(booking.getStartUtc());
+            response.setEndUtc(booking.getEndUtc());
             return response;
         }
+
+        /**
+         * Fills localDate/localTime with the start in the viewer's zone. scheduledDate/scheduledTime
+         * are left mentor-local.
+         */
+        public BookingResponse inZone(ZoneId zone) {
+            timeZone = zone.getId();
+            if (startUtc != null) {
+                ZonedDateTime start = startUtc.atZone(zone);
+                localDate = start.toLocalDate();
+                localTime = start.toLocalTime();
+            }
+            return this;
+        }
+    }
+
+    @Data
+    public static class BookingPage {
+        private List<BookingResponse> items;
+        private String nextCursor;
+
+        public BookingPage(List<BookingResponse> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
     }
 }
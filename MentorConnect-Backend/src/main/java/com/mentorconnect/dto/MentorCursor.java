@@ -0,0 +1,82 @@
+package com.mentorconnect.dto;
+
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.entity.MentorProfile;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a sorted mentor listing: the sort key of the last row returned
+ * plus its id as tie-breaker. Serialized to an opaque URL-safe continuation token.
+ */
+public class MentorCursor {
+
+    private final MentorSort sort;
+    private final BigDecimal price;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private MentorCursor(MentorSort sort, BigDecimal price, LocalDateTime createdAt, Long id) {
+        this.sort = sort;
+        this.price = price;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static MentorCursor of(MentorSort sort, BigDecimal price, LocalDateTime createdAt, Long id) {
+        return sort == MentorSort.PRICE
+                ? new MentorCursor(sort, price, null, id)
+                : new MentorCursor(sort, null, createdAt, id);
+    }
+
+    public static MentorCursor of(MentorSort sort, MentorProfile profile) {
+        return of(sort, profile.getSessionPrice(), profile.getCreatedAt(), profile.getId());
+    }
+
+    public MentorSort getSort() {
+        return sort;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String key = sort == MentorSort.PRICE ? price.toPlainString() : createdAt.toString();
+        String raw = sort.name() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token issued for the given sort; returns null for the first page.
+     */
+    public static MentorCursor decode(MentorSort sort, String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || MentorSort.valueOf(parts[0]) != sort) {
+                throw new IllegalArgumentException();
+            }
+            Long id = Long.valueOf(parts[2]);
+            return sort == MentorSort.PRICE
+                    ? new MentorCursor(sort, new BigDecimal(parts[1]), null, id)
+                    : new MentorCursor(sort, null, LocalDateTime.parse(parts[1]), id);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -44,6 +44,9 @@ public class MentorDTO {
         @DecimalMax(value = "1000", message = "Price cannot exceed ₹1000")
         private BigDecimal sessionPrice;
 
+        // Overlap checks only look back one day for sessions still running
+        @Min(value = 1, message = "Session duration must be at least 1 minute")
+        @Max(value = 1440, message = "Session duration cannot exceed 24 hours")
         private Integer sessionDuration = 30;
     }
 
@@ -100,4 +103,20 @@ public class MentorDTO {
         private BigDecimal minPrice;
         private BigDecimal maxPrice;
     }
+
+    @Data
+    public static class ProfilePage {
+        private List<ProfileResponse> items;
+        private String nextCursor;
+
+        public ProfilePage(List<ProfileResponse> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    public enum MentorSort {
+        PRICE, // sessionPrice ascending, then id
+        NEWEST // createdAt descending, then id
+    }
 }
@@ -2,7 +2,9 @@ package com.mentorconnect.dto;
 
 import com.mentorconnect.entity.Payment;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -17,6 +19,8 @@ public class PaymentDTO {
     }
 
     @Data
+    @NoArgsConstructor
+    @AllArgsConstructor // JPQL constructor expression in PaymentRepository; keep field order in sync
     public static class PaymentResponse {
         private Long id;
         private Long bookingId;
@@ -2,6 +2,8 @@ package com.mentorconnect.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 
@@ -11,10 +13,14 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Availability {
 
+    // Pooled sequence (a table on MySQL) rather than IDENTITY so inserts can be JDBC-batched;
+    // AvailabilitySequenceAligner moves it past ids handed out by the old AUTO_INCREMENT column
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_seq")
+    @SequenceGenerator(name = "availability_seq", sequenceName = "availability_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
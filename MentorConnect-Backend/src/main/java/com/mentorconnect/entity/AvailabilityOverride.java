@@ -0,0 +1,61 @@
+package com.mentorconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Date-specific exception to a mentor's weekly availability. BLOCKED removes slots for the
+ * whole day (no times) or for the given time range; AVAILABLE adds a one-off window.
+ */
+@Entity
+@Table(name = "availability_overrides", indexes = {
+        @Index(name = "idx_override_mentor_date", columnList = "mentor_id, override_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mentor_id", nullable = false)
+    private MentorProfile mentor;
+
+    @Column(name = "override_date", nullable = false)
+    private LocalDate overrideDate;
+
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OverrideType type;
+
+    private String reason;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public boolean isWholeDay() {
+        return startTime == null;
+    }
+
+    public enum OverrideType {
+        BLOCKED, AVAILABLE
+    }
+}
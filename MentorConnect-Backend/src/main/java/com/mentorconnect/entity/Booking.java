@@ -3,12 +3,21 @@ package com.mentorconnect.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // Overlap checks, upcoming sessions and keyset-paginated lists are range scans on these
+        @Index(name = "idx_booking_mentor_start", columnList = "mentor_id, start_utc, id"),
+        @Index(name = "idx_booking_mentee_start", columnList = "mentee_id, start_utc, id"),
+        @Index(name = "idx_booking_created_at", columnList = "created_at, id"),
+        // Lifecycle scheduler: ended CONFIRMED sessions and expired PENDING holds
+        @Index(name = "idx_booking_status_end", columnList = "status, end_utc"),
+        @Index(name = "idx_booking_status_created", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,12 +36,22 @@ public class Booking {
     @JoinColumn(name = "mentee_id", nullable = false)
     private User mentee;
 
+    // Session start in the mentor's zone, as on their calendar; API responses are converted
+    // from startUtc into the viewer's zone instead
     @Column(name = "scheduled_date", nullable = false)
     private LocalDate scheduledDate;
 
     @Column(name = "scheduled_time", nullable = false)
     private LocalTime scheduledTime;
 
+    // Nullable only for rows created before these columns existed, until BookingInstantBackfill
+    // has filled them in
+    @Column(name = "start_utc")
+    private Instant startUtc;
+
+    @Column(name = "end_utc")
+    private Instant endUtc;
+
     @Column(nullable = false)
     @Builder.Default
     private Integer duration = 30; // minutes
@@ -0,0 +1,31 @@
+package com.mentorconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * How far a mentor's calendar_slots have been materialized. Days after materialized_through
+ * are filled in by the rolling calendar job as they come into the window.
+ */
+@Entity
+@Table(name = "calendar_horizons", indexes = {
+        @Index(name = "idx_calendar_horizon_through", columnList = "materialized_through")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarHorizon {
+
+    @Id
+    @Column(name = "mentor_id")
+    private Long mentorId;
+
+    @Column(name = "materialized_through", nullable = false)
+    private LocalDate materializedThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.mentorconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * One concrete bookable slot, materialized from the mentor's weekly availability and date
+ * overrides (both in the mentor's zone) for a rolling window of weeks (see CalendarService).
+ * booking_id is the active booking occupying the slot, or null while it is open.
+ */
+@Entity
+@Table(name = "calendar_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_calendar_slot_mentor_start",
+                columnNames = {"mentor_id", "start_utc"}),
+        indexes = @Index(name = "idx_calendar_slot_booking", columnList = "booking_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarSlot {
+
+    // Pooled sequence so a regenerated calendar is inserted in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_slot_seq")
+    @SequenceGenerator(name = "calendar_slot_seq", sequenceName = "calendar_slot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mentor_id", nullable = false)
+    private MentorProfile mentor;
+
+    @Column(name = "start_utc", nullable = false)
+    private Instant startUtc;
+
+    @Column(name = "end_utc", nullable = false)
+    private Instant endUtc;
+
+    // Plain column rather than a relation: occupancy is only ever set and cleared in bulk
+    @Column(name = "booking_id")
+    private Long bookingId;
+}
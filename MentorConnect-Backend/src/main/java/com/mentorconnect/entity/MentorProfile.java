@@ -2,17 +2,26 @@ package com.mentorconnect.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "mentor_profiles")
+@Table(name = "mentor_profiles", indexes = {
+        @Index(name = "idx_mentor_active_price", columnList = "is_active, session_price, id"),
+        @Index(name = "idx_mentor_active_created", columnList = "is_active, created_at, id"),
+        @Index(name = "idx_mentor_session_price", columnList = "session_price"),
+        @Index(name = "idx_mentor_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class MentorProfile {
 
     @Id
@@ -36,6 +45,8 @@ public class MentorProfile {
     private String currentCompany;
 
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "mentor_previous_companies", joinColumns = @JoinColumn(name = "mentor_id"))
     @Column(name = "company_name")
     @Builder.Default
@@ -46,6 +57,8 @@ public class MentorProfile {
     private ExperienceType experienceType;
 
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "mentor_skills", joinColumns = @JoinColumn(name = "mentor_id"))
     @Column(name = "skill")
     @Builder.Default
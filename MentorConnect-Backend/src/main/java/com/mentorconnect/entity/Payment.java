@@ -6,7 +6,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payment_created_at", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,6 +2,8 @@ package com.mentorconnect.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
 
     @Id
@@ -27,6 +30,10 @@ public class User {
 
     private String phone;
 
+    // IANA zone id (e.g. Asia/Kolkata) dates and times are shown in; null = app default
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
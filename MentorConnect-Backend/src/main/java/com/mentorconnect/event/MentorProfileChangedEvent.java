@@ -0,0 +1,16 @@
+package com.mentorconnect.event;
+
+import com.mentorconnect.entity.MentorProfile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a mentor profile is created or updated. Listeners that keep
+ * derived in-memory state (search index, caches) react after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class MentorProfileChangedEvent {
+
+    private final MentorProfile profile;
+}
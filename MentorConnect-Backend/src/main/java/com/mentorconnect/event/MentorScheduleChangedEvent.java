@@ -0,0 +1,15 @@
+package com.mentorconnect.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a mentor's availability, overrides or bookings change, so anything derived
+ * from the mentor's schedule can be invalidated after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class MentorScheduleChangedEvent {
+
+    private final Long mentorId;
+}
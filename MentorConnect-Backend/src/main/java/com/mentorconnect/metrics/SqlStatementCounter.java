@@ -0,0 +1,56 @@
+package com.mentorconnect.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hibernate StatementInspector that counts the SQL statements prepared on the current thread
+ * between begin() and end(). Scopes nest (a test assertion around a request that the metrics
+ * filter also counts); each statement counts toward every open scope. Statements outside any
+ * scope (startup, scheduled jobs) are not counted. Second-level and query cache hits issue no
+ * statement, so they are not counted either.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    // StatementInspector is Serializable; this class has no state of its own
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Deque<int[]>> SCOPES = new ThreadLocal<>();
+
+    public static void begin() {
+        Deque<int[]> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(new int[1]);
+    }
+
+    /**
+     * Ends the innermost scope and returns the number of statements issued in it.
+     */
+    public static int end() {
+        Deque<int[]> scopes = SCOPES.get();
+        if (scopes == null) {
+            return 0;
+        }
+        int[] count = scopes.pop();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+        return count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Deque<int[]> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (int[] count : scopes) {
+                count[0]++;
+            }
+        }
+        return sql;
+    }
+}
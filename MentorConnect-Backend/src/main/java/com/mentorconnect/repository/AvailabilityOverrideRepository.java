@@ -0,0 +1,14 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.entity.AvailabilityOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AvailabilityOverrideRepository extends JpaRepository<AvailabilityOverride, Long> {
+
+    List<AvailabilityOverride> findByMentorIdAndOverrideDateBetweenOrderByOverrideDateAscStartTimeAsc(
+            Long mentorId, LocalDate from, LocalDate to);
+}
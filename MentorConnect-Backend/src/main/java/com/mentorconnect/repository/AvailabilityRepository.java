@@ -2,9 +2,17 @@ package com.mentorconnect.repository;
 
 import com.mentorconnect.entity.Availability;
 import com.mentorconnect.entity.MentorProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,9 +20,24 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
 
     List<Availability> findByMentorAndIsActiveTrue(MentorProfile mentor);
 
+    // Cached until the next write to availabilities on this node (see ehcache.xml for other nodes);
+    // entities then come from the second-level cache. Replica reads bypass the cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Availability> findByMentorIdAndIsActiveTrue(Long mentorId);
 
+    List<Availability> findByMentorIdInAndIsActiveTrue(Collection<Long> mentorIds);
+
     List<Availability> findByMentorIdAndDayOfWeekAndIsActiveTrue(Long mentorId, DayOfWeek dayOfWeek);
 
-    void deleteByMentorId(Long mentorId);
+    List<Availability> findByMentorId(Long mentorId);
+
+    // Single DELETE statement (a derived deleteBy... loads every row and deletes them one by one)
+    @Modifying
+    @Query("DELETE FROM Availability a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Mentors with weekly windows whose calendar has never been materialized
+    @Query("SELECT DISTINCT a.mentor.id FROM Availability a WHERE a.isActive = true " +
+            "AND NOT EXISTS (SELECT h FROM CalendarHorizon h WHERE h.mentorId = a.mentor.id)")
+    List<Long> findMentorIdsWithoutCalendar(Limit limit);
 }
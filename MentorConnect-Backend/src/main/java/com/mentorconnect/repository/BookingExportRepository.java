@@ -0,0 +1,17 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Export query for BookingRepository. Rows are streamed with the configured export fetch size
+ * (see BookingExportRepositoryImpl); close the stream when done.
+ */
+public interface BookingExportRepository {
+
+    Stream<BookingResponse> streamResponsesCreatedBetween(LocalDateTime from, LocalDateTime to,
+            Booking.BookingStatus status);
+}
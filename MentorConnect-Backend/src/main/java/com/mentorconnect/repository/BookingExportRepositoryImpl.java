@@ -0,0 +1,40 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Exports read through the driver's streaming mode instead of buffering the whole result.
+ * On MySQL that is a fetch size of Integer.MIN_VALUE (app.exports.fetch-size), which streams
+ * row by row on the normal client-side statement, so no other query pays for it. Drivers that
+ * reject a negative fetch size (H2) are given a positive one in their profile.
+ */
+public class BookingExportRepositoryImpl implements BookingExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.exports.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Override
+    public Stream<BookingResponse> streamResponsesCreatedBetween(LocalDateTime from, LocalDateTime to,
+            Booking.BookingStatus status) {
+        return entityManager.createQuery(BookingRepository.RESPONSE_SELECT +
+                        "WHERE b.createdAt >= :from AND b.createdAt < :to " +
+                        "AND (:status IS NULL OR b.status = :status) ORDER BY b.createdAt, b.id", BookingResponse.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("status", status)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,18 +1,31 @@
 package com.mentorconnect.repository;
 
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
 import com.mentorconnect.entity.Booking;
 import com.mentorconnect.entity.MentorProfile;
 import com.mentorconnect.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingExportRepository {
+
+    // Upper bound on a session's length (see ProfileRequest.sessionDuration); range scans for
+    // sessions overlapping a time start this far before it
+    Duration MAX_SESSION_LENGTH = Duration.ofDays(1);
 
     List<Booking> findByMentorOrderByScheduledDateDescScheduledTimeDesc(MentorProfile mentor);
 
@@ -25,9 +38,85 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.mentor.id = :mentorId AND b.scheduledDate = :date AND b.status != 'CANCELLED'")
     List<Booking> findByMentorIdAndScheduledDate(@Param("mentorId") Long mentorId, @Param("date") LocalDate date);
 
-    @Query("SELECT b FROM Booking b WHERE b.mentor.id = :mentorId AND b.scheduledDate = :date AND b.scheduledTime = :time AND b.status != 'CANCELLED'")
-    List<Booking> findConflictingBookings(@Param("mentorId") Long mentorId, @Param("date") LocalDate date,
-            @Param("time") LocalTime time);
+    // Active bookings starting in [from, to); one range scan on (mentor_id, start_utc)
+    @Query("SELECT b FROM Booking b WHERE b.mentor.id = :mentorId AND b.startUtc >= :from AND b.startUtc < :to " +
+            "AND b.status != 'CANCELLED'")
+    List<Booking> findActiveStartingBetween(@Param("mentorId") Long mentorId, @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    // Active bookings overlapping [start, end). earliest bounds the scan: no session starting
+    // before it can still be running at start
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.mentor.id = :mentorId AND b.startUtc >= :earliest " +
+            "AND b.startUtc < :end AND b.endUtc > :start AND b.status != 'CANCELLED'")
+    boolean existsOverlapping(@Param("mentorId") Long mentorId, @Param("earliest") Instant earliest,
+            @Param("start") Instant start, @Param("end") Instant end);
 
     List<Booking> findByStatus(Booking.BookingStatus status);
+
+    // Status changes that depend on the current status (payment, confirmation) read it under this lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    // Lifecycle scheduler: due rows are picked in bounded batches through the status-leading
+    // indexes, then moved with one bulk UPDATE per batch
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.createdAt < :cutoff ORDER BY b.createdAt")
+    List<Long> findPendingIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'CONFIRMED' AND b.endUtc <= :now ORDER BY b.endUtc")
+    List<Long> findConfirmedIdsEndedBy(@Param("now") Instant now, Limit limit);
+
+    // Rows created before start_utc/end_utc existed (see BookingInstantBackfill)
+    @EntityGraph(attributePaths = {"mentor", "mentor.user"})
+    List<Booking> findByStartUtcIsNull(Limit limit);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :from")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("from") Booking.BookingStatus from,
+            @Param("to") Booking.BookingStatus to, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT b.mentor.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findMentorIdsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") List<Long> ids, @Param("status") Booking.BookingStatus status);
+
+    // Booking lists: BookingResponse rows with mentor and mentee joined in, latest session
+    // first, keyset-paginated on (startUtc, id)
+
+    String RESPONSE_SELECT = "SELECT new com.mentorconnect.dto.BookingDTO$BookingResponse(" +
+            "b.id, m.id, mu.name, mu.email, e.id, e.name, e.email, b.scheduledDate, b.scheduledTime, " +
+            "b.duration, b.status, b.meetingLink, b.price, b.notes, b.createdAt, b.startUtc, b.endUtc) " +
+            "FROM Booking b JOIN b.mentor m JOIN m.user mu JOIN b.mentee e ";
+
+    String RESPONSE_AFTER = "AND (b.startUtc < :start OR (b.startUtc = :start AND b.id < :id)) ";
+
+    String RESPONSE_ORDER = "ORDER BY b.startUtc DESC, b.id DESC";
+
+    // Sessions not yet over, soonest first; earliest bounds the scan as in existsOverlapping
+    String UPCOMING = "AND b.startUtc >= :earliest AND b.endUtc > :now AND b.status IN ('PENDING', 'CONFIRMED') " +
+            "ORDER BY b.startUtc, b.id";
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :mentorId " + RESPONSE_ORDER)
+    List<BookingResponse> findResponsesByMentorId(@Param("mentorId") Long mentorId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :mentorId " + RESPONSE_AFTER + RESPONSE_ORDER)
+    List<BookingResponse> findResponsesByMentorIdAfter(@Param("mentorId") Long mentorId,
+            @Param("start") Instant start, @Param("id") Long id, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE m.id = :mentorId " + UPCOMING)
+    List<BookingResponse> findUpcomingResponsesByMentorId(@Param("mentorId") Long mentorId,
+            @Param("earliest") Instant earliest, @Param("now") Instant now, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE e.id = :menteeId " + RESPONSE_ORDER)
+    List<BookingResponse> findResponsesByMenteeId(@Param("menteeId") Long menteeId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE e.id = :menteeId " + RESPONSE_AFTER + RESPONSE_ORDER)
+    List<BookingResponse> findResponsesByMenteeIdAfter(@Param("menteeId") Long menteeId,
+            @Param("start") Instant start, @Param("id") Long id, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE e.id = :menteeId " + UPCOMING)
+    List<BookingResponse> findUpcomingResponsesByMenteeId(@Param("menteeId") Long menteeId,
+            @Param("earliest") Instant earliest, @Param("now") Instant now, Limit limit);
 }
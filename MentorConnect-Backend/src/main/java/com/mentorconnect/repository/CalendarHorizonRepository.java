@@ -0,0 +1,17 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.entity.CalendarHorizon;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CalendarHorizonRepository extends JpaRepository<CalendarHorizon, Long> {
+
+    @Query("SELECT h.mentorId FROM CalendarHorizon h WHERE h.materializedThrough < :through ORDER BY h.mentorId")
+    List<Long> findMentorIdsMaterializedBefore(@Param("through") LocalDate through, Limit limit);
+}
@@ -0,0 +1,51 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.entity.CalendarSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CalendarSlotRepository extends JpaRepository<CalendarSlot, Long> {
+
+    // All lookups below are range or point reads on (mentor_id, start_utc)
+
+    @Query("SELECT s FROM CalendarSlot s WHERE s.mentor.id = :mentorId AND s.startUtc >= :from AND s.startUtc < :to")
+    List<CalendarSlot> findStartingBetween(@Param("mentorId") Long mentorId, @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    @Query("SELECT s FROM CalendarSlot s WHERE s.mentor.id = :mentorId AND s.startUtc >= :from AND s.startUtc < :to " +
+            "AND s.bookingId IS NULL ORDER BY s.startUtc")
+    List<CalendarSlot> findOpenStartingBetween(@Param("mentorId") Long mentorId, @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    Optional<CalendarSlot> findByMentorIdAndStartUtc(Long mentorId, Instant startUtc);
+
+    List<CalendarSlot> findByBookingIdIn(Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("DELETE FROM CalendarSlot s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM CalendarSlot s WHERE s.startUtc < :cutoff")
+    int deleteStartingBefore(@Param("cutoff") Instant cutoff);
+
+    // Marks every still-open slot overlapping [start, end) as taken by the booking; earliest
+    // bounds the scan (no slot starting before it reaches start)
+    @Modifying
+    @Query("UPDATE CalendarSlot s SET s.bookingId = :bookingId WHERE s.mentor.id = :mentorId " +
+            "AND s.startUtc >= :earliest AND s.startUtc < :end AND s.endUtc > :start AND s.bookingId IS NULL")
+    int occupy(@Param("mentorId") Long mentorId, @Param("bookingId") Long bookingId,
+            @Param("earliest") Instant earliest, @Param("start") Instant start, @Param("end") Instant end);
+
+    @Modifying
+    @Query("UPDATE CalendarSlot s SET s.bookingId = NULL WHERE s.bookingId IN :bookingIds")
+    int release(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -2,11 +2,19 @@ package com.mentorconnect.repository;
 
 import com.mentorconnect.entity.MentorProfile;
 import com.mentorconnect.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +26,25 @@ public interface MentorProfileRepository
 
     Optional<MentorProfile> findByUserId(Long userId);
 
+    @Query("SELECT m.id FROM MentorProfile m WHERE m.user.email = :email")
+    Optional<Long> findIdByUserEmail(@Param("email") String email);
+
+    // SELECT ... FOR UPDATE: serializes slot reservations for one mentor across all nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MentorProfile m WHERE m.id = :id")
+    Optional<MentorProfile> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "user")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MentorProfile> findByIsActiveTrue();
 
+    @EntityGraph(attributePaths = "user")
+    List<MentorProfile> findByIdIn(Collection<Long> ids);
+
+    // Version of the public listings. Not cached: it must move as soon as a profile is written
+    @Query("SELECT MAX(m.updatedAt) FROM MentorProfile m")
+    LocalDateTime findLastUpdatedAt();
+
     @Query("SELECT m FROM MentorProfile m WHERE m.isActive = true AND " +
             "(LOWER(m.currentCompany) LIKE LOWER(CONCAT('%', :company, '%')) OR " +
             ":company MEMBER OF m.previousCompanies)")
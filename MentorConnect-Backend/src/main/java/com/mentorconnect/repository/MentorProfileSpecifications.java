@@ -0,0 +1,107 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.dto.MentorCursor;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.SearchRequest;
+import com.mentorconnect.entity.MentorProfile;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MentorProfileSpecifications {
+
+    private MentorProfileSpecifications() {
+    }
+
+    public static Specification<MentorProfile> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    /**
+     * Translates a search request into a single predicate. Text filters are case-insensitive
+     * substring matches; skills and previous companies are matched with EXISTS subqueries over
+     * mentor_skills / mentor_previous_companies so a mentor is never returned twice.
+     * A leading-wildcard LIKE cannot use a B-tree index, so these columns are not indexed; the
+     * other filters narrow the scan of active mentors.
+     */
+    public static Specification<MentorProfile> matching(SearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (request.getCompany() != null) {
+                String pattern = containsPattern(request.getCompany());
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("currentCompany")), pattern, '\\'),
+                        cb.exists(elementLike(root, query, cb, "previousCompanies", pattern))));
+            }
+            if (request.getSkill() != null) {
+                predicates.add(cb.exists(elementLike(root, query, cb, "skills", containsPattern(request.getSkill()))));
+            }
+            if (request.getCollegeName() != null) {
+                predicates.add(cb.like(cb.lower(root.get("collegeName")),
+                        containsPattern(request.getCollegeName()), '\\'));
+            }
+            if (request.getExperienceType() != null) {
+                predicates.add(cb.equal(root.get("experienceType"), request.getExperienceType()));
+            }
+            if (request.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("sessionPrice"), request.getMinPrice()));
+            }
+            if (request.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("sessionPrice"), request.getMaxPrice()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor in listing order; null (no restriction) for the first page.
+     */
+    public static Specification<MentorProfile> after(MentorCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (cursor.getSort() == MentorSort.PRICE) {
+            return (root, query, cb) -> cb.or(
+                    cb.greaterThan(root.get("sessionPrice"), cursor.getPrice()),
+                    cb.and(cb.equal(root.get("sessionPrice"), cursor.getPrice()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    private static Subquery<Long> elementLike(Root<MentorProfile> root, CriteriaQuery<?> query,
+            CriteriaBuilder cb, String collection, String pattern) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<MentorProfile> mentor = subquery.correlate(root);
+        Join<MentorProfile, String> element = mentor.join(collection);
+        return subquery.select(mentor.get("id"))
+                .where(cb.like(cb.lower(element), pattern, '\\'));
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    public static Sort sortOf(MentorSort sort) {
+        return sort == MentorSort.PRICE
+                ? Sort.by(Sort.Order.asc("sessionPrice"), Sort.Order.asc("id"))
+                : Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.dto.PaymentDTO.PaymentResponse;
+import com.mentorconnect.entity.Payment;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Export query for PaymentRepository, streamed like BookingExportRepository; close the stream
+ * when done.
+ */
+public interface PaymentExportRepository {
+
+    Stream<PaymentResponse> streamResponsesCreatedBetween(LocalDateTime from, LocalDateTime to,
+            Payment.PaymentStatus status);
+}
@@ -0,0 +1,36 @@
+package com.mentorconnect.repository;
+
+import com.mentorconnect.dto.PaymentDTO.PaymentResponse;
+import com.mentorconnect.entity.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// Streams with the export fetch size, see BookingExportRepositoryImpl
+public class PaymentExportRepositoryImpl implements PaymentExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.exports.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    @Override
+    public Stream<PaymentResponse> streamResponsesCreatedBetween(LocalDateTime from, LocalDateTime to,
+            Payment.PaymentStatus status) {
+        return entityManager.createQuery("SELECT new com.mentorconnect.dto.PaymentDTO$PaymentResponse(p.id, " +
+                        "p.booking.id, p.amount, p.currency, p.transactionId, p.status, p.paymentMethod, p.createdAt) " +
+                        "FROM Payment p WHERE p.createdAt >= :from AND p.createdAt < :to " +
+                        "AND (:status IS NULL OR p.status = :status) ORDER BY p.createdAt, p.id", PaymentResponse.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("status", status)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
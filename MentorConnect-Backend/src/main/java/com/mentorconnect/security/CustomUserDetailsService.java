@@ -3,33 +3,104 @@ package com.mentorconnect.security;
 import com.mentorconnect.entity.User;
 import com.mentorconnect.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    // 0 disables the cache
+    @Value("${app.security.user-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private final ConcurrentHashMap<String, CachedUser> cache = new ConcurrentHashMap<>();
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(email);
+        if (cached == null || cached.expiresAt <= now) {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            cached = new CachedUser(user.getEmail(), user.getPassword(), user.getRole(),
+                    now + cacheTtlSeconds * 1000);
+            put(email, cached, now);
+        }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        // Always hand out a fresh instance: Spring Security erases credentials on the
+        // UserDetails it authenticated, which must not leak into the cached entry
+        return buildUserDetails(cached.email, cached.password, cached.role);
+    }
+
+    /**
+     * Called after a successful login whose stored hash uses an outdated algorithm or strength.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = getUserByEmail(userDetails.getUsername());
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evict(user.getEmail());
+        return buildUserDetails(user.getEmail(), newPassword, user.getRole());
     }
 
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
+
+    /**
+     * Drops the cached entry for a user; call whenever the user's email, password or role changes.
+     */
+    public void evict(String email) {
+        cache.remove(email);
+    }
+
+    public static UserDetails buildUserDetails(String email, String password, User.Role role) {
+        return new org.springframework.security.core.userdetails.User(
+                email,
+                password,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
+
+    private void put(String email, CachedUser user, long now) {
+        if (cacheTtlSeconds <= 0) {
+            return;
+        }
+        if (cache.size() >= cacheMaxSize) {
+            cache.values().removeIf(u -> u.expiresAt <= now);
+            if (cache.size() >= cacheMaxSize) {
+                return;
+            }
+        }
+        cache.put(email, user);
+    }
+
+    private static final class CachedUser {
+        final String email;
+        final String password;
+        final User.Role role;
+        final long expiresAt;
+
+        CachedUser(String email, String password, User.Role role, long expiresAt) {
+            this.email = email;
+            this.password = password;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.mentorconnect.security;
 
+import com.mentorconnect.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,9 +32,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+
+            if (claims != null) {
+                UserDetails userDetails = toUserDetails(claims);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -47,6 +50,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the role claim; only tokens issued before the claim
+     * existed fall back to loading the user.
+     */
+    private UserDetails toUserDetails(Claims claims) {
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        if (role == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return CustomUserDetailsService.buildUserDetails(claims.getSubject(), "", User.Role.valueOf(role));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,74 +1,159 @@
 package com.mentorconnect.security;
 
+import com.mentorconnect.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${app.jwt.cache-size:10000}")
+    private int cacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Looked up once: parseClaims runs on every authenticated request
+    private Counter cacheHits;
+    private Timer validTokens;
+    private Timer invalidTokens;
+
+    private SecretKey signingKey;
+
+    // JwtParser is immutable and thread-safe once built
+    private JwtParser parser;
+
+    // SHA-256 of token -> claims already verified, dropped once the token expires
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+
+        cacheHits = meterRegistry.counter("mentorconnect.jwt.cache.hits");
+        validTokens = meterRegistry.timer("mentorconnect.jwt.validation", "result", "valid");
+        invalidTokens = meterRegistry.timer("mentorconnect.jwt.validation", "result", "invalid");
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+    /**
+     * Issues a token carrying the user's id and role so authenticated requests can be
+     * authorized from the claims alone, without loading the user.
+     */
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
-                .subject(userPrincipal.getUsername())
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String generateTokenFromEmail(String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+    /**
+     * Verifies the token once and returns its claims, or null if it is invalid or expired.
+     * Recently verified tokens are served from a bounded cache until they expire.
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
 
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                cacheHits.increment();
+                return cached.claims;
+            }
+            verifiedTokens.remove(key);
+        }
+
+        // Timed only when the signature is actually verified
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (claims.getExpiration() != null) {
+            cache(key, new VerifiedToken(claims, claims.getExpiration().getTime()), now);
+        }
+        return claims;
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    private void cache(String key, VerifiedToken token, long now) {
+        if (verifiedTokens.size() >= cacheSize) {
+            verifiedTokens.values().removeIf(t -> t.expiresAt <= now);
+            if (verifiedTokens.size() >= cacheSize) {
+                return;
+            }
+        }
+        verifiedTokens.put(key, token);
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        final Claims claims;
+        final long expiresAt;
+
+        VerifiedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
         }
     }
 }
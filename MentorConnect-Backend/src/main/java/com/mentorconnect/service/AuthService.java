@@ -2,12 +2,15 @@ package com.mentorconnect.service;
 
 import com.mentorconnect.dto.AuthDTO.*;
 import com.mentorconnect.entity.User;
+import com.mentorconnect.event.MentorScheduleChangedEvent;
+import com.mentorconnect.repository.MentorProfileRepository;
 import com.mentorconnect.repository.UserRepository;
+import com.mentorconnect.security.CustomUserDetailsService;
 import com.mentorconnect.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +30,23 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    @Transactional
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Not transactional: the hash is computed on the hashing pool and must not hold a
+    // DB connection while it waits there; the unique email column guards the insert
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -39,24 +58,27 @@ public class AuthService {
                 .password(passwordEncoder.encode(request.getPassword()))
                 .phone(request.getPhone())
                 .role(request.getRole())
+                .timeZone(request.getTimeZone() != null
+                        ? timeZoneService.parse(request.getTimeZone()).getId() : null)
                 .build();
 
         user = userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
 
-        String token = tokenProvider.generateTokenFromEmail(user.getEmail());
+        String token = tokenProvider.generateToken(user);
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getRole());
     }
 
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
+        authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
 
-        String token = tokenProvider.generateToken(authentication);
-
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        String token = tokenProvider.generateToken(user);
+
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getRole());
     }
 
@@ -64,4 +86,27 @@ public class AuthService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
+
+    /**
+     * Changes the zone the user's dates and times are read and shown in. A mentor's weekly
+     * availability is kept in their own zone, so their calendar is regenerated with it.
+     */
+    @Transactional
+    public User updateTimeZone(String email, String timeZone) {
+        User user = getCurrentUser(email);
+        String zone = timeZoneService.parse(timeZone).getId();
+        if (zone.equals(user.getTimeZone())) {
+            return user;
+        }
+        user.setTimeZone(zone);
+        user = userRepository.save(user);
+
+        mentorProfileRepository.findByUserId(user.getId())
+                .flatMap(profile -> mentorProfileRepository.findByIdForUpdate(profile.getId()))
+                .ifPresent(profile -> {
+                    calendarService.regenerate(profile);
+                    eventPublisher.publishEvent(new MentorScheduleChangedEvent(profile.getId()));
+                });
+        return user;
+    }
 }
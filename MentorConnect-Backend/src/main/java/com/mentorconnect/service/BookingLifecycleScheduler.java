@@ -0,0 +1,138 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.event.MentorScheduleChangedEvent;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.repository.MentorProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings through their lifecycle in the background: unpaid PENDING holds older
+ * than the TTL are cancelled (freeing the slot), and CONFIRMED sessions that have ended
+ * are marked COMPLETED. Work is done in bounded batches, each its own short transaction
+ * with a single bulk UPDATE, and only one node runs the job at a time.
+ *
+ * Expiry races payment: a hold can be paid for between being picked and being cancelled.
+ * The UPDATE only moves rows still PENDING, and payment reads and confirms a booking under
+ * its row lock, so a hold ends up either paid or cancelled; only the rows this job cancelled
+ * give up their slots.
+ */
+@Component
+public class BookingLifecycleScheduler {
+
+    private static final String LOCK_NAME = "booking-lifecycle";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.bookings.lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bookings.lifecycle.pending-ttl-minutes:30}")
+    private long pendingTtlMinutes;
+
+    @Value("${app.bookings.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.bookings.lifecycle.lock-at-most-for-seconds:600}")
+    private long lockAtMostForSeconds;
+
+    @Value("${app.bookings.lifecycle.interval-ms:60000}")
+    private long intervalMs;
+
+    @Scheduled(fixedDelayString = "${app.bookings.lifecycle.interval-ms:60000}",
+            initialDelayString = "${app.bookings.lifecycle.interval-ms:60000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        // Held for at least most of an interval so another node's tick can't repeat this one
+        schedulerLockService.runExclusively(LOCK_NAME, Duration.ofSeconds(lockAtMostForSeconds),
+                Duration.ofMillis(intervalMs / 2), () -> {
+                    expirePendingHolds();
+                    completeEndedSessions();
+                });
+    }
+
+    private void expirePendingHolds() {
+        int expired;
+        do {
+            expired = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> due = bookingRepository.findPendingIdsCreatedBefore(
+                        now.minusMinutes(pendingTtlMinutes), Limit.of(batchSize));
+                if (due.isEmpty()) {
+                    return 0;
+                }
+                // Slots are only written under the mentor's row lock. Taken in id order before any
+                // booking row, like reservations and cancellations, so the two can't deadlock
+                bookingRepository.findMentorIdsByIdIn(due).stream()
+                        .sorted()
+                        .forEach(mentorProfileRepository::findByIdForUpdate);
+                // Re-read under the locks: holds cancelled by their users meanwhile were released already
+                List<Long> ids = bookingRepository.findIdsByIdInAndStatus(due, Booking.BookingStatus.PENDING);
+                if (!ids.isEmpty()) {
+                    int updated = bookingRepository.updateStatus(ids,
+                            Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED, now);
+                    // Holds paid for meanwhile were skipped by the UPDATE and keep their slots
+                    List<Booking> cancelled = bookingRepository.findAllById(
+                            bookingRepository.findIdsByIdInAndStatus(ids, Booking.BookingStatus.CANCELLED));
+                    calendarService.release(cancelled);
+                    // The events go out after this batch commits
+                    cancelled.stream()
+                            .map(booking -> booking.getMentor().getId())
+                            .distinct()
+                            .forEach(mentorId -> eventPublisher.publishEvent(new MentorScheduleChangedEvent(mentorId)));
+                    meterRegistry.counter("mentorconnect.booking.lifecycle", "transition", "expired").increment(updated);
+                }
+                return due.size();
+            });
+        } while (expired == batchSize);
+    }
+
+    private void completeEndedSessions() {
+        int completed;
+        do {
+            completed = transactionTemplate.execute(status -> {
+                List<Long> ended = bookingRepository.findConfirmedIdsEndedBy(Instant.now(), Limit.of(batchSize));
+                if (ended.isEmpty()) {
+                    return 0;
+                }
+                int updated = bookingRepository.updateStatus(ended,
+                        Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED, LocalDateTime.now());
+                meterRegistry.counter("mentorconnect.booking.lifecycle", "transition", "completed").increment(updated);
+                return ended.size();
+            });
+        } while (completed == batchSize);
+    }
+}
@@ -1,23 +1,37 @@
 package com.mentorconnect.service;
 
+import com.mentorconnect.dto.BookingCursor;
 import com.mentorconnect.dto.BookingDTO.*;
 import com.mentorconnect.entity.Booking;
 import com.mentorconnect.entity.MentorProfile;
 import com.mentorconnect.entity.User;
+import com.mentorconnect.event.MentorScheduleChangedEvent;
 import com.mentorconnect.repository.BookingRepository;
 import com.mentorconnect.repository.MentorProfileRepository;
 import com.mentorconnect.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -30,8 +44,52 @@ public class BookingService {
     @Autowired
     private EmailService emailService;
 
-    @Transactional
-    public BookingResponse createBooking(String email, BookingRequest request) {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Reserves a slot. The mentor row is locked (SELECT ... FOR UPDATE) for the duration of
+     * the transaction, so concurrent reservations for the same mentor are serialized and the
+     * overlap check cannot be raced. Lock timeouts and deadlocks are retried a few times.
+     * A booking landing exactly on a materialized calendar slot is checked with a single
+     * point read of that slot; anything else falls back to the booking overlap query.
+     * A repeated idempotency key returns the booking created by the first request.
+     */
+    public BookingResponse createBooking(String email, BookingRequest request, String idempotencyKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    BookingResponse response = idempotencyService.execute("booking", email, idempotencyKey,
+                            request, BookingResponse.class, () -> reserveSlot(email, request));
+                    outcome = "success";
+                    return response;
+                } catch (PessimisticLockingFailureException e) {
+                    meterRegistry.counter("mentorconnect.booking.lock.retries").increment();
+                    if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                        throw new RuntimeException("This time slot is busy, please try again");
+                    }
+                }
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("mentorconnect.booking.create", "outcome", outcome));
+        }
+    }
+
+    private BookingResponse reserveSlot(String email, BookingRequest request) {
         User mentee = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -39,22 +97,36 @@ public class BookingService {
             throw new RuntimeException("Only mentees can create bookings");
         }
 
-        MentorProfile mentor = mentorProfileRepository.findById(request.getMentorId())
+        MentorProfile mentor = mentorProfileRepository.findByIdForUpdate(request.getMentorId())
                 .orElseThrow(() -> new RuntimeException("Mentor not found"));
 
-        // Check for conflicting bookings
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                mentor.getId(), request.getScheduledDate(), request.getScheduledTime());
+        // The requested wall-clock time is read in the mentee's (or the request's) zone
+        ZoneId zone = timeZoneService.zoneOf(request.getTimeZone(), mentee);
+        Instant start = ZonedDateTime.of(request.getScheduledDate(), request.getScheduledTime(), zone).toInstant();
+        Instant end = start.plus(Duration.ofMinutes(mentor.getSessionDuration()));
+        ZonedDateTime mentorStart = start.atZone(timeZoneService.zoneOf(mentor.getUser()));
+
+        if (calendarService.isBlocked(mentor, start, end)) {
+            throw new RuntimeException("The mentor is not available at this time");
+        }
+
+        boolean conflict = calendarService.findSlot(mentor.getId(), start, end)
+                .map(slot -> slot.getBookingId() != null)
+                .orElseGet(() -> hasOverlappingBooking(mentor.getId(), start, end));
 
-        if (!conflicts.isEmpty()) {
+        if (conflict) {
+            // Conflict rate = this / mentorconnect.booking.create count
+            meterRegistry.counter("mentorconnect.booking.conflicts").increment();
             throw new RuntimeException("This time slot is already booked");
         }
 
         Booking booking = Booking.builder()
                 .mentor(mentor)
                 .mentee(mentee)
-                .scheduledDate(request.getScheduledDate())
-                .scheduledTime(request.getScheduledTime())
+                .scheduledDate(mentorStart.toLocalDate())
+                .scheduledTime(mentorStart.toLocalTime())
+                .startUtc(start)
+                .endUtc(end)
                 .duration(mentor.getSessionDuration())
                 .price(mentor.getSessionPrice())
                 .notes(request.getNotes())
@@ -62,14 +134,29 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
-        return BookingResponse.fromEntity(booking);
+        calendarService.occupy(booking);
+        eventPublisher.publishEvent(new MentorScheduleChangedEvent(mentor.getId()));
+        return BookingResponse.fromEntity(booking).inZone(zone);
+    }
+
+    private boolean hasOverlappingBooking(Long mentorId, Instant start, Instant end) {
+        return bookingRepository.existsOverlapping(mentorId,
+                start.minus(BookingRepository.MAX_SESSION_LENGTH), start, end);
     }
 
+    /**
+     * Confirms a PENDING booking. The status is checked under the booking's row lock, so a hold
+     * the lifecycle job cancelled (and whose slot it freed) can't be confirmed afterwards.
+     */
     @Transactional
     public BookingResponse confirmBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+            throw new RuntimeException("Booking is not in pending status");
+        }
+
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
 
         // Generate Jitsi Meet Link
@@ -79,38 +166,65 @@ public class BookingService {
 
         booking = bookingRepository.save(booking);
 
-        // Send confirmation emails
-        try {
-            emailService.sendBookingConfirmation(booking);
-        } catch (Exception e) {
-            // Log error but don't fail the booking
-            System.err.println("Failed to send email: " + e.getMessage());
-        }
+        // Queue confirmation emails; they are delivered after commit by the outbox dispatcher
+        emailService.sendBookingConfirmation(booking);
 
         return BookingResponse.fromEntity(booking);
     }
 
+    // Full lists (dashboards); each is a single joined query returning response rows, shown in
+    // the viewer's zone
+    @Transactional(readOnly = true)
     public List<BookingResponse> getMentorBookings(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userFor(email);
+        return inZone(bookingRepository.findResponsesByMentorId(mentorIdFor(user), Limit.unlimited()), user);
+    }
 
-        MentorProfile mentor = mentorProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Mentor profile not found"));
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getMenteeBookings(String email) {
+        User user = userFor(email);
+        return inZone(bookingRepository.findResponsesByMenteeId(user.getId(), Limit.unlimited()), user);
+    }
 
-        return bookingRepository.findByMentorIdOrderByScheduledDateDescScheduledTimeDesc(mentor.getId())
-                .stream()
-                .map(BookingResponse::fromEntity)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public BookingPage getMentorBookingPage(String email, String cursor, Integer size) {
+        User user = userFor(email);
+        Long mentorId = mentorIdFor(user);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize(size) + 1);
+
+        List<BookingResponse> rows = after == null
+                ? bookingRepository.findResponsesByMentorId(mentorId, limit)
+                : bookingRepository.findResponsesByMentorIdAfter(mentorId, after.getStartUtc(), after.getId(), limit);
+        return toPage(inZone(rows, user), pageSize(size));
     }
 
-    public List<BookingResponse> getMenteeBookings(String email) {
-        User mentee = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public BookingPage getMenteeBookingPage(String email, String cursor, Integer size) {
+        User user = userFor(email);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize(size) + 1);
 
-        return bookingRepository.findByMenteeIdOrderByScheduledDateDescScheduledTimeDesc(mentee.getId())
-                .stream()
-                .map(BookingResponse::fromEntity)
-                .collect(Collectors.toList());
+        List<BookingResponse> rows = after == null
+                ? bookingRepository.findResponsesByMenteeId(user.getId(), limit)
+                : bookingRepository.findResponsesByMenteeIdAfter(user.getId(), after.getStartUtc(), after.getId(), limit);
+        return toPage(inZone(rows, user), pageSize(size));
+    }
+
+    /**
+     * The user's pending and confirmed sessions that have not ended yet, soonest first.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getUpcomingBookings(String email, Integer size) {
+        User user = userFor(email);
+        Instant now = Instant.now();
+        Instant earliest = now.minus(BookingRepository.MAX_SESSION_LENGTH);
+        Limit limit = Limit.of(pageSize(size));
+
+        List<BookingResponse> rows = user.getRole() == User.Role.MENTOR
+                ? bookingRepository.findUpcomingResponsesByMentorId(mentorIdFor(user), earliest, now, limit)
+                : bookingRepository.findUpcomingResponsesByMenteeId(user.getId(), earliest, now, limit);
+        return inZone(rows, user);
     }
 
     @Transactional
@@ -118,8 +232,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = userFor(email);
 
         // Verify ownership
         boolean isMentor = booking.getMentor().getUser().getId().equals(user.getId());
@@ -129,15 +242,51 @@ public class BookingService {
             throw new RuntimeException("Not authorized to cancel this booking");
         }
 
+        // Slots are only written under the mentor's row lock (see CalendarService)
+        mentorProfileRepository.findByIdForUpdate(booking.getMentor().getId());
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         booking = bookingRepository.save(booking);
+        calendarService.release(List.of(booking));
+        eventPublisher.publishEvent(new MentorScheduleChangedEvent(booking.getMentor().getId()));
 
-        return BookingResponse.fromEntity(booking);
+        return BookingResponse.fromEntity(booking).inZone(timeZoneService.zoneOf(user));
     }
 
-    public BookingResponse getBookingById(Long bookingId) {
+    public BookingResponse getBookingById(Long bookingId, String email) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
-        return BookingResponse.fromEntity(booking);
+        return BookingResponse.fromEntity(booking).inZone(timeZoneService.zoneOf(userFor(email)));
+    }
+
+    private User userFor(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private Long mentorIdFor(User user) {
+        return mentorProfileRepository.findIdByUserEmail(user.getEmail())
+                .orElseThrow(() -> new RuntimeException("Mentor profile not found"));
+    }
+
+    private List<BookingResponse> inZone(List<BookingResponse> rows, User viewer) {
+        ZoneId zone = timeZoneService.zoneOf(viewer);
+        rows.forEach(row -> row.inZone(zone));
+        return rows;
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // Rows were fetched with one extra to detect whether a next page exists
+    private BookingPage toPage(List<BookingResponse> rows, int size) {
+        if (rows.size() <= size) {
+            return new BookingPage(rows, null);
+        }
+        List<BookingResponse> page = rows.subList(0, size);
+        return new BookingPage(page, BookingCursor.of(page.get(size - 1)).encode());
     }
 }
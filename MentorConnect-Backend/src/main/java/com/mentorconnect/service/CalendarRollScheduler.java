@@ -0,0 +1,98 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.repository.AvailabilityRepository;
+import com.mentorconnect.repository.CalendarHorizonRepository;
+import com.mentorconnect.repository.CalendarSlotRepository;
+import com.mentorconnect.repository.MentorProfileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the materialized calendar window rolling (one node at a time): drops slots that have
+ * passed, generates calendars for mentors that have windows but no calendar yet (existing
+ * data on first deploy) and fills in the days that have come into the window since the last
+ * run. Each mentor is its own short transaction under the mentor's row lock.
+ */
+@Component
+public class CalendarRollScheduler {
+
+    private static final String LOCK_NAME = "calendar-roll";
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarSlotRepository calendarSlotRepository;
+
+    @Autowired
+    private CalendarHorizonRepository calendarHorizonRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.calendar.roll.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.calendar.roll.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.calendar.roll.lock-at-most-for-seconds:1800}")
+    private long lockAtMostForSeconds;
+
+    @Value("${app.calendar.roll.interval-ms:3600000}")
+    private long intervalMs;
+
+    @Scheduled(fixedDelayString = "${app.calendar.roll.interval-ms:3600000}",
+            initialDelayString = "${app.calendar.roll.initial-delay-ms:10000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        schedulerLockService.runExclusively(LOCK_NAME, Duration.ofSeconds(lockAtMostForSeconds),
+                Duration.ofMillis(intervalMs / 2), () -> {
+                    transactionTemplate.executeWithoutResult(status ->
+                            calendarSlotRepository.deleteStartingBefore(Instant.now().minus(1, ChronoUnit.DAYS)));
+                    rollMentors(() -> availabilityRepository.findMentorIdsWithoutCalendar(Limit.of(batchSize)));
+                    // Horizons are per mentor zone; the furthest-behind zone's date is a threshold every
+                    // mentor can reach, so the loop below always drains
+                    LocalDate horizonEnd = calendarService.horizonEnd(ZoneOffset.MIN);
+                    rollMentors(() -> calendarHorizonRepository.findMentorIdsMaterializedBefore(
+                            horizonEnd, Limit.of(batchSize)));
+                });
+    }
+
+    // Every mentor handled leaves the query's result, so this ends once it comes back empty
+    private void rollMentors(Supplier<List<Long>> batch) {
+        List<Long> ids;
+        do {
+            ids = batch.get();
+            for (Long mentorId : ids) {
+                transactionTemplate.executeWithoutResult(status ->
+                        mentorProfileRepository.findByIdForUpdate(mentorId).ifPresentOrElse(
+                                calendarService::extend,
+                                () -> calendarHorizonRepository.deleteById(mentorId)));
+            }
+        } while (ids.size() == batchSize);
+    }
+}
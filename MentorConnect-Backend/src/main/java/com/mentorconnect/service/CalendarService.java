@@ -0,0 +1,363 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.dto.AvailabilityDTO.OverrideRequest;
+import com.mentorconnect.dto.AvailabilityDTO.OverrideResponse;
+import com.mentorconnect.entity.*;
+import com.mentorconnect.event.MentorScheduleChangedEvent;
+import com.mentorconnect.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Materializes each mentor's weekly availability, adjusted by date overrides, into concrete
+ * calendar_slots rows for a rolling window of weeks, so open slots and conflicts are read
+ * with indexed queries instead of being re-expanded on every request.
+ *
+ * Windows and overrides are wall-clock times in the mentor's zone; slots are stored as UTC
+ * instants, so daylight-saving changes and viewers in other zones need no special casing.
+ *
+ * Slots are regenerated as a diff (unchanged rows are kept, with their occupancy) when the
+ * windows, session duration, zone or an override change, and the window is extended day by
+ * day by CalendarRollScheduler. Every write happens under the mentor's row lock, the same
+ * lock that serializes reservations, so a slot's booking_id always agrees with the bookings
+ * table. The bookings table stays the source of truth for bookings off the slot grid.
+ */
+@Service
+public class CalendarService {
+
+    @Autowired
+    private CalendarSlotRepository calendarSlotRepository;
+
+    @Autowired
+    private CalendarHorizonRepository calendarHorizonRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private AvailabilityOverrideRepository availabilityOverrideRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.calendar.horizon-weeks:8}")
+    private int horizonWeeks;
+
+    /**
+     * Last day, in the given zone, of the rolling window that is kept materialized.
+     */
+    public LocalDate horizonEnd(ZoneId zone) {
+        return LocalDate.now(zone).plusWeeks(horizonWeeks).minusDays(1);
+    }
+
+    public ZoneId zoneOf(MentorProfile mentor) {
+        return timeZoneService.zoneOf(mentor.getUser());
+    }
+
+    /**
+     * Last materialized day (in the mentor's zone), or null if the calendar was never generated.
+     */
+    public LocalDate materializedThrough(Long mentorId) {
+        return calendarHorizonRepository.findById(mentorId)
+                .map(CalendarHorizon::getMaterializedThrough)
+                .orElse(null);
+    }
+
+    /**
+     * Regenerates the whole window. Call inside a transaction holding the mentor's row lock.
+     */
+    public void regenerate(MentorProfile mentor) {
+        ZoneId zone = zoneOf(mentor);
+        materialize(mentor, zone, LocalDate.now(zone), horizonEnd(zone));
+    }
+
+    /**
+     * Fills in days that have come into the window since the mentor was last materialized.
+     * Call inside a transaction holding the mentor's row lock.
+     */
+    public void extend(MentorProfile mentor) {
+        ZoneId zone = zoneOf(mentor);
+        LocalDate today = LocalDate.now(zone);
+        LocalDate through = materializedThrough(mentor.getId());
+        LocalDate from = through == null || through.isBefore(today) ? today : through.plusDays(1);
+        if (!from.isAfter(horizonEnd(zone))) {
+            materialize(mentor, zone, from, horizonEnd(zone));
+        }
+    }
+
+    /**
+     * True if a BLOCKED override covers any part of [start, end).
+     */
+    public boolean isBlocked(MentorProfile mentor, Instant start, Instant end) {
+        ZoneId zone = zoneOf(mentor);
+        return availabilityOverrideRepository
+                .findByMentorIdAndOverrideDateBetweenOrderByOverrideDateAscStartTimeAsc(mentor.getId(),
+                        start.atZone(zone).toLocalDate(), end.atZone(zone).toLocalDate()).stream()
+                .filter(o -> o.getType() == AvailabilityOverride.OverrideType.BLOCKED)
+                .anyMatch(o -> overlaps(o, zone, start, end));
+    }
+
+    /**
+     * The materialized slot exactly matching [start, end), if there is one.
+     */
+    public Optional<CalendarSlot> findSlot(Long mentorId, Instant start, Instant end) {
+        return calendarSlotRepository.findByMentorIdAndStartUtc(mentorId, start)
+                .filter(slot -> slot.getEndUtc().equals(end));
+    }
+
+    public List<CalendarSlot> findOpenSlots(Long mentorId, Instant from, Instant to) {
+        return calendarSlotRepository.findOpenStartingBetween(mentorId, from, to);
+    }
+
+    public void occupy(Booking booking) {
+        calendarSlotRepository.occupy(booking.getMentor().getId(), booking.getId(),
+                booking.getStartUtc().minus(BookingRepository.MAX_SESSION_LENGTH),
+                booking.getStartUtc(), booking.getEndUtc());
+    }
+
+    /**
+     * Frees the slots held by bookings that were cancelled. Call after their status is written,
+     * inside a transaction holding the row locks of their mentors.
+     */
+    public void release(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = bookings.stream().map(Booking::getId).collect(Collectors.toSet());
+        List<CalendarSlot> freed = calendarSlotRepository.findByBookingIdIn(ids);
+        if (freed.isEmpty()) {
+            return;
+        }
+        calendarSlotRepository.release(ids);
+
+        // Bookings need not sit on the slot grid, so another active booking may still overlap
+        // a freed slot; hand those slots to it
+        Map<Long, List<CalendarSlot>> byMentor = freed.stream()
+                .collect(Collectors.groupingBy(slot -> slot.getMentor().getId()));
+        byMentor.forEach((mentorId, slots) -> {
+            Instant from = slots.stream().map(CalendarSlot::getStartUtc).min(Comparator.naturalOrder()).get();
+            Instant to = slots.stream().map(CalendarSlot::getEndUtc).max(Comparator.naturalOrder()).get();
+            for (Booking other : bookingRepository.findActiveStartingBetween(
+                    mentorId, from.minus(BookingRepository.MAX_SESSION_LENGTH), to)) {
+                boolean overlapsFreed = !ids.contains(other.getId()) && slots.stream().anyMatch(slot ->
+                        slot.getStartUtc().isBefore(other.getEndUtc()) && other.getStartUtc().isBefore(slot.getEndUtc()));
+                if (overlapsFreed) {
+                    occupy(other);
+                }
+            }
+        });
+    }
+
+    @Transactional
+    public OverrideResponse addOverride(String email, OverrideRequest request) {
+        MentorProfile mentor = lockedMentorFor(email);
+        validateOverride(request, zoneOf(mentor));
+
+        AvailabilityOverride override = availabilityOverrideRepository.save(AvailabilityOverride.builder()
+                .mentor(mentor)
+                .overrideDate(request.getDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .type(request.getType())
+                .reason(request.getReason())
+                .build());
+        regenerateDay(mentor, request.getDate());
+        return OverrideResponse.fromEntity(override);
+    }
+
+    @Transactional
+    public void deleteOverride(String email, Long overrideId) {
+        MentorProfile mentor = lockedMentorFor(email);
+        AvailabilityOverride override = availabilityOverrideRepository.findById(overrideId)
+                .filter(o -> o.getMentor().getId().equals(mentor.getId()))
+                .orElseThrow(() -> new RuntimeException("Override not found"));
+
+        availabilityOverrideRepository.delete(override);
+        regenerateDay(mentor, override.getOverrideDate());
+    }
+
+    // Dates and times are in the mentor's zone
+    @Transactional(readOnly = true)
+    public List<OverrideResponse> getOverrides(Long mentorId, LocalDate from, LocalDate to) {
+        MentorProfile mentor = mentorProfileRepository.findById(mentorId)
+                .orElseThrow(() -> new RuntimeException("Mentor not found"));
+        ZoneId zone = zoneOf(mentor);
+        return availabilityOverrideRepository
+                .findByMentorIdAndOverrideDateBetweenOrderByOverrideDateAscStartTimeAsc(mentorId,
+                        from != null ? from : LocalDate.now(zone), to != null ? to : horizonEnd(zone)).stream()
+                .map(OverrideResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Expands weekly windows and overrides, read in the given zone, into slot start -> end
+     * instants for every day in [from, to]. Slots are cut from the start of each window; a
+     * whole-day BLOCKED override drops the weekly windows (one-off AVAILABLE windows still
+     * apply) and a timed one drops every slot it overlaps.
+     */
+    public NavigableMap<Instant, Instant> expand(ZoneId zone, int duration, List<Availability> windows,
+            List<AvailabilityOverride> overrides, LocalDate from, LocalDate to) {
+        Map<LocalDate, List<AvailabilityOverride>> overridesByDate = overrides.stream()
+                .collect(Collectors.groupingBy(AvailabilityOverride::getOverrideDate));
+
+        NavigableMap<Instant, Instant> slots = new TreeMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<AvailabilityOverride> dayOverrides = overridesByDate.getOrDefault(date, List.of());
+            boolean dayBlocked = dayOverrides.stream().anyMatch(o ->
+                    o.getType() == AvailabilityOverride.OverrideType.BLOCKED && o.isWholeDay());
+
+            List<LocalTime[]> ranges = new ArrayList<>();
+            if (!dayBlocked) {
+                for (Availability window : windows) {
+                    if (window.getDayOfWeek() == date.getDayOfWeek()) {
+                        ranges.add(new LocalTime[]{window.getStartTime(), window.getEndTime()});
+                    }
+                }
+            }
+            for (AvailabilityOverride o : dayOverrides) {
+                if (o.getType() == AvailabilityOverride.OverrideType.AVAILABLE) {
+                    ranges.add(new LocalTime[]{o.getStartTime(), o.getEndTime()});
+                }
+            }
+
+            for (LocalTime[] range : ranges) {
+                for (LocalTime t = range[0];
+                        !t.plusMinutes(duration).isAfter(range[1]) && !t.plusMinutes(duration).isBefore(t);
+                        t = t.plusMinutes(duration)) {
+                    // A start inside a spring-forward gap moves to the first valid time after it
+                    Instant start = ZonedDateTime.of(date, t, zone).toInstant();
+                    Instant end = start.plus(Duration.ofMinutes(duration));
+                    boolean blocked = dayOverrides.stream().anyMatch(o ->
+                            o.getType() == AvailabilityOverride.OverrideType.BLOCKED && overlaps(o, zone, start, end));
+                    if (!blocked) {
+                        slots.putIfAbsent(start, end);
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    private void regenerateDay(MentorProfile mentor, LocalDate date) {
+        ZoneId zone = zoneOf(mentor);
+        LocalDate through = materializedThrough(mentor.getId());
+        if (through == null) {
+            regenerate(mentor);
+        } else if (!date.isBefore(LocalDate.now(zone)) && !date.isAfter(through)) {
+            materialize(mentor, zone, date, date);
+        }
+        eventPublisher.publishEvent(new MentorScheduleChangedEvent(mentor.getId()));
+    }
+
+    private void materialize(MentorProfile mentor, ZoneId zone, LocalDate from, LocalDate to) {
+        Instant rangeStart = from.atStartOfDay(zone).toInstant();
+        Instant rangeEnd = to.plusDays(1).atStartOfDay(zone).toInstant();
+        NavigableMap<Instant, Instant> desired = expand(zone, mentor.getSessionDuration(),
+                availabilityRepository.findByMentorIdAndIsActiveTrue(mentor.getId()),
+                availabilityOverrideRepository.findByMentorIdAndOverrideDateBetweenOrderByOverrideDateAscStartTimeAsc(
+                        mentor.getId(), from, to),
+                from, to);
+
+        List<Long> removed = new ArrayList<>();
+        for (CalendarSlot slot : calendarSlotRepository.findStartingBetween(mentor.getId(), rangeStart, rangeEnd)) {
+            if (slot.getEndUtc().equals(desired.get(slot.getStartUtc()))) {
+                desired.remove(slot.getStartUtc());
+            } else {
+                removed.add(slot.getId());
+            }
+        }
+        // Deleted first: a slot whose length changed is re-inserted with the same start
+        if (!removed.isEmpty()) {
+            calendarSlotRepository.deleteByIdIn(removed);
+        }
+
+        if (!desired.isEmpty()) {
+            List<Booking> bookings = bookingRepository.findActiveStartingBetween(mentor.getId(),
+                    rangeStart.minus(BookingRepository.MAX_SESSION_LENGTH), rangeEnd);
+            List<CalendarSlot> added = new ArrayList<>(desired.size());
+            desired.forEach((start, end) -> added.add(CalendarSlot.builder()
+                    .mentor(mentor)
+                    .startUtc(start)
+                    .endUtc(end)
+                    .bookingId(bookings.stream()
+                            .filter(b -> b.getStartUtc().isBefore(end) && start.isBefore(b.getEndUtc()))
+                            .map(Booking::getId)
+                            .findFirst()
+                            .orElse(null))
+                    .build()));
+            calendarSlotRepository.saveAll(added);
+        }
+
+        CalendarHorizon horizon = calendarHorizonRepository.findById(mentor.getId())
+                .orElse(CalendarHorizon.builder().mentorId(mentor.getId()).materializedThrough(to).build());
+        if (horizon.getMaterializedThrough().isBefore(to)) {
+            horizon.setMaterializedThrough(to);
+        }
+        horizon.setUpdatedAt(LocalDateTime.now());
+        calendarHorizonRepository.save(horizon);
+
+        meterRegistry.counter("mentorconnect.calendar.slots", "change", "inserted").increment(desired.size());
+        meterRegistry.counter("mentorconnect.calendar.slots", "change", "deleted").increment(removed.size());
+    }
+
+    private MentorProfile lockedMentorFor(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        MentorProfile profile = mentorProfileRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Mentor profile not found"));
+        return mentorProfileRepository.findByIdForUpdate(profile.getId())
+                .orElseThrow(() -> new RuntimeException("Mentor profile not found"));
+    }
+
+    private void validateOverride(OverrideRequest request, ZoneId zone) {
+        if (request.getDate().isBefore(LocalDate.now(zone))) {
+            throw new RuntimeException("Override date must not be in the past");
+        }
+        if ((request.getStartTime() == null) != (request.getEndTime() == null)) {
+            throw new RuntimeException("Give both start and end time, or neither to block the whole day");
+        }
+        if (request.getStartTime() == null) {
+            if (request.getType() == AvailabilityOverride.OverrideType.AVAILABLE) {
+                throw new RuntimeException("An AVAILABLE override needs a start and end time");
+            }
+            return;
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new RuntimeException("Override must end after it starts");
+        }
+    }
+
+    private static boolean overlaps(AvailabilityOverride override, ZoneId zone, Instant start, Instant end) {
+        LocalDate date = override.getOverrideDate();
+        Instant blockedStart = override.isWholeDay()
+                ? date.atStartOfDay(zone).toInstant()
+                : ZonedDateTime.of(date, override.getStartTime(), zone).toInstant();
+        Instant blockedEnd = override.isWholeDay()
+                ? date.plusDays(1).atStartOfDay(zone).toInstant()
+                : ZonedDateTime.of(date, override.getEndTime(), zone).toInstant();
+        return blockedStart.isBefore(end) && start.isBefore(blockedEnd);
+    }
+}
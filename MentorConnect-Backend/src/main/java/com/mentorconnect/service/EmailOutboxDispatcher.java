@@ -0,0 +1,195 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.entity.EmailOutbox;
+import com.mentorconnect.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in batches. Each batch is sent through a single SMTP
+ * connection (JavaMailSenderImpl reuses one Transport for a multi-message send);
+ * failed messages are retried with exponential backoff and dead-lettered after
+ * the configured number of attempts.
+ *
+ * A batch is claimed in one short transaction by leasing its rows (next_attempt_at is
+ * pushed out by the lease, so other nodes and later polls skip them), sent with no
+ * transaction or connection held, and its outcome recorded in a second transaction.
+ * If a node dies mid-send its rows come due again when the lease runs out, so delivery
+ * is at least once.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.username:noreply@mentorconnect.com}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    // Must outlast sending a whole batch, SMTP timeouts included
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        int sent;
+        do {
+            sent = dispatchBatch();
+        } while (sent == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Exception> failures = send(batch);
+
+        List<Long> ids = batch.stream().map(EmailOutbox::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox email : emailOutboxRepository.findAllById(ids)) {
+                Exception failure = failures.get(email.getId());
+                if (failure == null) {
+                    markSent(email, now);
+                } else {
+                    markFailed(email, failure, now);
+                }
+            }
+        });
+        return batch.size();
+    }
+
+    private List<EmailOutbox> claim(LocalDateTime now) {
+        List<EmailOutbox> batch = emailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        // The lease: not due again until it runs out, unless the outcome is recorded first
+        batch.forEach(email -> email.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+        return batch;
+    }
+
+    // Failures by outbox id; runs outside any transaction
+    private Map<Long, Exception> send(List<EmailOutbox> batch) {
+        if (mailSender == null) {
+            batch.forEach(this::logEmail);
+            return Map.of();
+        }
+
+        Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            messages.put(toMessage(email), email);
+        }
+
+        Map<Object, Exception> failed = Map.of();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                failed = allFailed(messages, e);
+            }
+        } catch (Exception e) {
+            failed = allFailed(messages, e);
+        }
+        // One SMTP session per batch; per-message outcomes are counted in markSent/markFailed
+        sample.stop(meterRegistry.timer("mentorconnect.email.send",
+                "outcome", failed.isEmpty() ? "success" : "failure"));
+
+        Map<Long, Exception> failures = new HashMap<>();
+        failed.forEach((message, failure) -> {
+            EmailOutbox email = messages.get(message);
+            if (email != null) {
+                failures.put(email.getId(), failure);
+            }
+        });
+        return failures;
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private void markSent(EmailOutbox email, LocalDateTime now) {
+        email.setStatus(EmailOutbox.OutboxStatus.SENT);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setSentAt(now);
+        email.setLastError(null);
+        meterRegistry.counter("mentorconnect.email.messages", "outcome", "sent").increment();
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutbox.OutboxStatus.DEAD);
+            // The row keeps the last error for inspection
+            meterRegistry.counter("mentorconnect.email.messages", "outcome", "dead").increment();
+        } else {
+            meterRegistry.counter("mentorconnect.email.messages", "outcome", "retry").increment();
+            // 1x, 2x, 4x, ... the base backoff
+            email.setNextAttemptAt(now.plusSeconds(backoffSeconds << (attempts - 1)));
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(Map<SimpleMailMessage, EmailOutbox> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private void logEmail(EmailOutbox email) {
+        System.out.println("\n========== EMAIL NOTIFICATION (DEMO MODE) ==========");
+        System.out.println("To: " + email.getRecipient());
+        System.out.println("Subject: " + email.getSubject());
+        System.out.println(email.getBody());
+        System.out.println("=====================================================\n");
+    }
+}
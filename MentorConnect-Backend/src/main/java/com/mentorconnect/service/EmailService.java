@@ -1,60 +1,48 @@
 package com.mentorconnect.service;
 
 import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.EmailOutbox;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Service
 public class EmailService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a (VV)");
 
-    @Value("${spring.mail.username:noreply@mentorconnect.com}")
-    private String fromEmail;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
 
-    public void sendBookingConfirmation(Booking booking) {
-        if (mailSender == null) {
-            System.out.println("Email service not configured. Skipping email.");
-            logEmailDetails(booking);
-            return;
-        }
-
-        try {
-            // Send to Mentee
-            sendEmail(
-                    booking.getMentee().getEmail(),
-                    "Booking Confirmed - MentorConnect",
-                    buildMenteeEmail(booking));
+    @Autowired
+    private TimeZoneService timeZoneService;
 
-            // Send to Mentor
-            sendEmail(
-                    booking.getMentor().getUser().getEmail(),
-                    "New Booking - MentorConnect",
-                    buildMentorEmail(booking));
-        } catch (Exception e) {
-            System.err.println("Failed to send email: " + e.getMessage());
-            logEmailDetails(booking);
-        }
-    }
-
-    private void sendEmail(String to, String subject, String text) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        mailSender.send(message);
+    /**
+     * Queues the confirmation emails in the outbox as part of the caller's transaction.
+     * EmailOutboxDispatcher delivers them in the background once the transaction commits.
+     */
+    public void sendBookingConfirmation(Booking booking) {
+        emailOutboxRepository.saveAll(List.of(
+                EmailOutbox.builder()
+                        .recipient(booking.getMentee().getEmail())
+                        .subject("Booking Confirmed - MentorConnect")
+                        .body(buildMenteeEmail(booking))
+                        .build(),
+                EmailOutbox.builder()
+                        .recipient(booking.getMentor().getUser().getEmail())
+                        .subject("New Booking - MentorConnect")
+                        .body(buildMentorEmail(booking))
+                        .build()));
     }
 
     private String buildMenteeEmail(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
+        ZonedDateTime start = startIn(booking, booking.getMentee());
 
         StringBuilder sb = new StringBuilder();
         sb.append("Hi ").append(booking.getMentee().getName()).append(",\n\n");
@@ -62,8 +50,8 @@ public class EmailService {
         sb.append("Session Details:\n");
         sb.append("─────────────────────────────────\n");
         sb.append("Mentor: ").append(booking.getMentor().getUser().getName()).append("\n");
-        sb.append("Date: ").append(booking.getScheduledDate().format(dateFormatter)).append("\n");
-        sb.append("Time: ").append(booking.getScheduledTime().format(timeFormatter)).append("\n");
+        sb.append("Date: ").append(start.format(DATE_FORMAT)).append("\n");
+        sb.append("Time: ").append(start.format(TIME_FORMAT)).append("\n");
         sb.append("Duration: ").append(booking.getDuration()).append(" minutes\n");
         sb.append("Amount Paid: Rs.").append(booking.getPrice()).append("\n\n");
         sb.append("Join Meeting:\n");
@@ -77,8 +65,7 @@ public class EmailService {
     }
 
     private String buildMentorEmail(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
+        ZonedDateTime start = startIn(booking, booking.getMentor().getUser());
 
         StringBuilder sb = new StringBuilder();
         sb.append("Hi ").append(booking.getMentor().getUser().getName()).append(",\n\n");
@@ -87,8 +74,8 @@ public class EmailService {
         sb.append("─────────────────────────────────\n");
         sb.append("Mentee: ").append(booking.getMentee().getName()).append("\n");
         sb.append("Email: ").append(booking.getMentee().getEmail()).append("\n");
-        sb.append("Date: ").append(booking.getScheduledDate().format(dateFormatter)).append("\n");
-        sb.append("Time: ").append(booking.getScheduledTime().format(timeFormatter)).append("\n");
+        sb.append("Date: ").append(start.format(DATE_FORMAT)).append("\n");
+        sb.append("Time: ").append(start.format(TIME_FORMAT)).append("\n");
         sb.append("Duration: ").append(booking.getDuration()).append(" minutes\n");
         sb.append("Amount: Rs.").append(booking.getPrice()).append("\n\n");
         sb.append("Meeting Link:\n");
@@ -101,13 +88,8 @@ public class EmailService {
         return sb.toString();
     }
 
-    private void logEmailDetails(Booking booking) {
-        System.out.println("\n========== EMAIL NOTIFICATION (DEMO MODE) ==========");
-        System.out.println("To Mentee: " + booking.getMentee().getEmail());
-        System.out.println("To Mentor: " + booking.getMentor().getUser().getEmail());
-        System.out.println("Meeting Link: " + booking.getMeetingLink());
-        System.out.println("Date: " + booking.getScheduledDate());
-        System.out.println("Time: " + booking.getScheduledTime());
-        System.out.println("=====================================================\n");
+    // Each recipient sees the session in their own zone
+    private ZonedDateTime startIn(Booking booking, User recipient) {
+        return booking.getStartUtc().atZone(timeZoneService.zoneOf(recipient));
     }
 }
@@ -0,0 +1,207 @@
+package com.mentorconnect.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.dto.ExportDTO.Format;
+import com.mentorconnect.dto.PaymentDTO.PaymentResponse;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.Payment;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings and payments created in a date range as CSV or NDJSON for reconciliation.
+ * Rows are read as projections through a database cursor and written as they arrive, so
+ * memory use does not depend on the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final Map<String, Function<BookingResponse, Object>> BOOKING_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<PaymentResponse, Object>> PAYMENT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        BOOKING_COLUMNS.put("id", BookingResponse::getId);
+        BOOKING_COLUMNS.put("created_at", BookingResponse::getCreatedAt);
+        BOOKING_COLUMNS.put("status", BookingResponse::getStatus);
+        BOOKING_COLUMNS.put("scheduled_date", BookingResponse::getScheduledDate);
+        BOOKING_COLUMNS.put("scheduled_time", BookingResponse::getScheduledTime);
+        BOOKING_COLUMNS.put("start_utc", BookingResponse::getStartUtc);
+        BOOKING_COLUMNS.put("end_utc", BookingResponse::getEndUtc);
+        BOOKING_COLUMNS.put("duration", BookingResponse::getDuration);
+        BOOKING_COLUMNS.put("price", BookingResponse::getPrice);
+        BOOKING_COLUMNS.put("mentor_id", BookingResponse::getMentorId);
+        BOOKING_COLUMNS.put("mentor_name", BookingResponse::getMentorName);
+        BOOKING_COLUMNS.put("mentor_email", BookingResponse::getMentorEmail);
+        BOOKING_COLUMNS.put("mentee_id", BookingResponse::getMenteeId);
+        BOOKING_COLUMNS.put("mentee_name", BookingResponse::getMenteeName);
+        BOOKING_COLUMNS.put("mentee_email", BookingResponse::getMenteeEmail);
+        BOOKING_COLUMNS.put("meeting_link", BookingResponse::getMeetingLink);
+        BOOKING_COLUMNS.put("notes", BookingResponse::getNotes);
+
+        PAYMENT_COLUMNS.put("id", PaymentResponse::getId);
+        PAYMENT_COLUMNS.put("created_at", PaymentResponse::getCreatedAt);
+        PAYMENT_COLUMNS.put("status", PaymentResponse::getStatus);
+        PAYMENT_COLUMNS.put("booking_id", PaymentResponse::getBookingId);
+        PAYMENT_COLUMNS.put("amount", PaymentResponse::getAmount);
+        PAYMENT_COLUMNS.put("currency", PaymentResponse::getCurrency);
+        PAYMENT_COLUMNS.put("payment_method", PaymentResponse::getPaymentMethod);
+        PAYMENT_COLUMNS.put("transaction_id", PaymentResponse::getTransactionId);
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.exports.allowed-emails:}")
+    private String allowedEmails;
+
+    private Set<String> exporters;
+
+    // Writes one JSON document per call without closing the underlying writer
+    private ObjectWriter jsonRowWriter;
+
+    @PostConstruct
+    public void init() {
+        exporters = new HashSet<>();
+        for (String email : allowedEmails.split(",")) {
+            if (!email.isBlank()) {
+                exporters.add(email.trim().toLowerCase());
+            }
+        }
+        jsonRowWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Checked before the response starts streaming, so failures still get a normal error response.
+     */
+    public void checkRequest(String email, LocalDate from, LocalDate to) {
+        if (!exporters.contains(email.toLowerCase())) {
+            throw new RuntimeException("Not authorized to export data");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /**
+     * Writes bookings created between from and to (inclusive dates), oldest first.
+     */
+    @Transactional(readOnly = true)
+    public void writeBookings(LocalDate from, LocalDate to, Booking.BookingStatus status, Format format,
+            OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<BookingResponse> rows = bookingRepository.streamResponsesCreatedBetween(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), status)) {
+            long count = write(rows, BOOKING_COLUMNS, format, out);
+            record(sample, "bookings", format, count);
+        }
+    }
+
+    /**
+     * Writes payments created between from and to (inclusive dates), oldest first.
+     */
+    @Transactional(readOnly = true)
+    public void writePayments(LocalDate from, LocalDate to, Payment.PaymentStatus status, Format format,
+            OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<PaymentResponse> rows = paymentRepository.streamResponsesCreatedBetween(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), status)) {
+            long count = write(rows, PAYMENT_COLUMNS, format, out);
+            record(sample, "payments", format, count);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Map<String, Function<T, Object>> columns, Format format,
+            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writeCsvLine(writer, new ArrayList<>(columns.keySet()));
+        }
+
+        long count = 0;
+        List<Object> values = new ArrayList<>(columns.size());
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == Format.CSV) {
+                values.clear();
+                for (Function<T, Object> column : columns.values()) {
+                    values.add(column.apply(row));
+                }
+                writeCsvLine(writer, values);
+            } else {
+                jsonRowWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void record(Timer.Sample sample, String type, Format format, long count) {
+        sample.stop(meterRegistry.timer("mentorconnect.export", "type", type, "format", format.name()));
+        meterRegistry.counter("mentorconnect.export.rows", "type", type).increment(count);
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; free-text values starting with a formula character are prefixed with '
+    // so spreadsheets opening the export don't evaluate them
+    private static String csvField(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
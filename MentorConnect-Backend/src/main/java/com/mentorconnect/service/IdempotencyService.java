@@ -0,0 +1,135 @@
+package com.mentorconnect.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentorconnect.entity.IdempotencyRecord;
+import com.mentorconnect.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST endpoints safe to retry. With an Idempotency-Key, the first request runs its work
+ * and stores the response in the same transaction; repeats of the key by the same user replay
+ * that response without running anything. Failed requests store nothing and can be retried.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * Runs the action in a new transaction, or replays the stored response for a key
+     * the owner has already used in this scope. Without a key the action just runs.
+     */
+    public <T> T execute(String scope, String owner, String key, Object request, Class<T> responseType,
+            Supplier<T> action) {
+        if (key == null) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        T replayed = replay(scope, owner, key, requestHash, responseType);
+        if (replayed != null) {
+            return replayed;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                // Claimed first: a concurrent request with the same key blocks on this row
+                // until we commit, then fails with a duplicate key and replays our response
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .scope(scope)
+                        .owner(owner)
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .expiresAt(LocalDateTime.now().plusHours(ttlHours))
+                        .build());
+                T response = action.get();
+                record.setResponseBody(toJson(response));
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race for the key; anything else is the action's own constraint violation
+            replayed = replay(scope, owner, key, requestHash, responseType);
+            if (replayed == null) {
+                throw e;
+            }
+            return replayed;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private <T> T replay(String scope, String owner, String key, String requestHash, Class<T> responseType) {
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByScopeAndOwnerAndIdempotencyKey(scope, owner, key)
+                .orElse(null);
+        if (record == null) {
+            return null;
+        }
+        if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+            idempotencyRecordRepository.delete(record);
+            return null;
+        }
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+
+        meterRegistry.counter("mentorconnect.idempotency.replays", "scope", scope).increment();
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.mentorconnect.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.ProfilePage;
+import com.mentorconnect.event.MentorProfileChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable snapshot of the unfiltered mentor listing (GET /api/mentors at the default page
+ * size, every page of both sorts), serialized once to JSON and gzip bytes so requests are
+ * answered without touching the database or Jackson.
+ *
+ * Profile and availability changes on this node trigger a rebuild after a short debounce, so
+ * a burst of edits costs one rebuild. Changes made on other nodes are picked up by a periodic
+ * check of the listings version, within one check interval. Builds and checks read the primary:
+ * a debounced rebuild usually runs within the replica's lag, and would record the pre-edit
+ * state and version. All rebuilds run on one thread and replace the snapshot with a single
+ * volatile write; until the first one completes, or for any other request, the controller
+ * falls back to MentorService.
+ */
+@Component
+public class MentorListingSnapshot {
+
+    @Autowired
+    private MentorService mentorService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.mentor-snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mentor-snapshot.debounce-ms:500}")
+    private long debounceMs;
+
+    @Value("${app.mentor-snapshot.check-interval-ms:30000}")
+    private long checkIntervalMs;
+
+    private ScheduledExecutorService executor;
+    private Timer builds;
+    private Counter failures;
+
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mentor-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        builds = meterRegistry.timer("mentorconnect.mentor.snapshot.build");
+        failures = meterRegistry.counter("mentorconnect.mentor.snapshot.failures");
+        meterRegistry.gauge("mentorconnect.mentor.snapshot.pages", this,
+                snapshot -> snapshot.current != null ? snapshot.current.pages.size() : 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(this::rebuild);
+        executor.scheduleWithFixedDelay(this::rebuildIfStale, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(MentorProfileChangedEvent event) {
+        if (enabled && refreshPending.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The pre-serialized page for this request, or null if the snapshot doesn't cover it
+     * (not built yet, a non-default page size, or a cursor from an older snapshot).
+     */
+    public Page page(MentorSort sort, String cursor, Integer size) {
+        Snapshot snapshot = current;
+        if (snapshot == null || (size != null && size != MentorService.DEFAULT_PAGE_SIZE)) {
+            return null;
+        }
+        return snapshot.pages.get(key(sort, cursor));
+    }
+
+    // Exceptions are counted and printed, not thrown: one escaping would cancel the periodic check
+    private void rebuildIfStale() {
+        Snapshot snapshot = current;
+        try {
+            if (snapshot == null || !snapshot.lastModified.equals(mentorService.getListingsLastModified())) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            failed("check", e);
+        }
+    }
+
+    private void rebuild() {
+        // Cleared first: a change committed while building schedules another rebuild
+        refreshPending.set(false);
+        try {
+            // Not read-only, so it runs on the primary. Pages are serialized inside it: profiles'
+            // collections are lazy
+            current = builds.record(() -> transactionTemplate.execute(status -> build()));
+        } catch (RuntimeException e) {
+            // The previous snapshot keeps being served; the next check retries
+            failed("rebuild", e);
+        }
+    }
+
+    private void failed(String what, RuntimeException e) {
+        failures.increment();
+        System.err.println("Mentor listing snapshot " + what + " failed: " + e);
+    }
+
+    private Snapshot build() {
+        // Read first, so a change committed during the build leaves the version stale
+        LocalDateTime lastModified = mentorService.getListingsLastModified();
+        Map<String, Page> pages = new HashMap<>();
+        for (MentorSort sort : MentorSort.values()) {
+            String cursor = null;
+            for (ProfilePage page : mentorService.getAllMentorPages(sort)) {
+                pages.put(key(sort, cursor), new Page(serialize(page), lastModified));
+                cursor = page.getNextCursor();
+            }
+        }
+        return new Snapshot(Map.copyOf(pages), lastModified);
+    }
+
+    private byte[] serialize(ProfilePage page) {
+        try {
+            return objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize mentor page", e);
+        }
+    }
+
+    private static String key(MentorSort sort, String cursor) {
+        return sort + "|" + Objects.requireNonNullElse(cursor, "");
+    }
+
+    private static final class Snapshot {
+        final Map<String, Page> pages;
+        final LocalDateTime lastModified;
+
+        Snapshot(Map<String, Page> pages, LocalDateTime lastModified) {
+            this.pages = pages;
+            this.lastModified = lastModified;
+        }
+    }
+
+    public static final class Page {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final LocalDateTime lastModified;
+
+        Page(byte[] json, LocalDateTime lastModified) {
+            this.json = json;
+            this.gzip = gzip(json);
+            this.lastModified = lastModified;
+        }
+
+        // Shared, never modified: callers must not write to these arrays
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public LocalDateTime getLastModified() {
+            return lastModified;
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
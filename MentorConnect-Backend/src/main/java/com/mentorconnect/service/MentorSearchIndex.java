@@ -0,0 +1,437 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.dto.MentorCursor;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.SearchRequest;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.event.MentorProfileChangedEvent;
+import com.mentorconnect.repository.MentorProfileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over active mentor profiles.
+ *
+ * Every indexed mentor gets a dense ordinal, and skills, companies (current and previous),
+ * colleges and experience types map to posting lists stored as bitsets over those ordinals,
+ * so combining filters is a word-wise OR/AND. Prices are kept in an array sorted by
+ * (price, id) so range filters are two binary searches. Text filters keep the substring
+ * semantics of the original search: the query is matched against the term dictionary
+ * (distinct values), never against individual profiles. A page is selected with a bounded
+ * heap instead of sorting every match.
+ *
+ * Profile changes on this node are applied as they commit. Changes made on other nodes are
+ * picked up by a periodic check of the listings version, within one check interval, which
+ * rebuilds the index from the primary.
+ */
+@Component
+public class MentorSearchIndex {
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.check-interval-ms:30000}")
+    private long checkIntervalMs;
+
+    private ScheduledExecutorService executor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final List<Document> byOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<String, BitSet> skillPostings = new HashMap<>();
+    private final Map<String, BitSet> companyPostings = new HashMap<>();
+    private final Map<String, BitSet> collegePostings = new HashMap<>();
+    private final Map<MentorProfile.ExperienceType, BitSet> experiencePostings =
+            new EnumMap<>(MentorProfile.ExperienceType.class);
+    private final List<Document> byPrice = new ArrayList<>();
+
+    // Mentor id -> document (empty if deactivated) for changes seen before the index is ready
+    // or while a rebuild is reading profiles
+    private final Map<Long, Optional<Document>> pendingChanges = new HashMap<>();
+    private boolean loading;
+
+    private volatile boolean ready;
+
+    // Listings version the index was last built at
+    private volatile LocalDateTime version;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mentor-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+        executor.scheduleWithFixedDelay(this::rebuildIfStale, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Exceptions are printed, not thrown: one escaping would cancel the periodic check
+    void rebuildIfStale() {
+        try {
+            LocalDateTime current = transactionTemplate.execute(status -> mentorProfileRepository.findLastUpdatedAt());
+            if (!ready || !Objects.equals(version, current)) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Mentor search index check failed: " + e);
+        }
+    }
+
+    /**
+     * Reloads every active profile. Not read-only, so it runs on the primary, and it bypasses
+     * this node's caches, which may still hold another node's pre-edit rows.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Only this transaction's entity manager: no request is open on the threads that rebuild
+            entityManager.setProperty("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+            entityManager.setProperty("jakarta.persistence.cache.storeMode", CacheStoreMode.REFRESH);
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.REFRESH);
+            // Read first, so a change committed during the load leaves the version stale
+            LocalDateTime current = mentorProfileRepository.findLastUpdatedAt();
+            load(mentorProfileRepository.findByIsActiveTrue());
+            version = current;
+        });
+    }
+
+    /**
+     * Replaces the index contents with the given active profiles, then applies any change
+     * that arrived while they were being read, and marks the index ready.
+     */
+    public void load(Collection<MentorProfile> profiles) {
+        List<Document> loaded = new ArrayList<>(profiles.size());
+        for (MentorProfile profile : profiles) {
+            loaded.add(Document.of(profile));
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            byOrdinal.clear();
+            freeOrdinals.clear();
+            live.clear();
+            skillPostings.clear();
+            companyPostings.clear();
+            collegePostings.clear();
+            experiencePostings.clear();
+            byPrice.clear();
+
+            for (Document doc : loaded) {
+                add(doc);
+            }
+            byPrice.addAll(loaded);
+            byPrice.sort(Document.PRICE_ORDER);
+
+            // Changes committed while the profiles were being read may be missing from them
+            pendingChanges.forEach(this::replace);
+            pendingChanges.clear();
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(MentorProfileChangedEvent event) {
+        if (enabled) {
+            index(event.getProfile());
+        }
+    }
+
+    public void index(MentorProfile profile) {
+        Document doc = Boolean.TRUE.equals(profile.getIsActive()) ? Document.of(profile) : null;
+
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                replace(profile.getId(), doc);
+            }
+            if (!ready || loading) {
+                // Applied (again) once the build has loaded everything else
+                pendingChanges.put(profile.getId(), Optional.ofNullable(doc));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock. An empty doc removes the mentor (deactivated)
+    private void replace(Long id, Optional<Document> doc) {
+        replace(id, doc.orElse(null));
+    }
+
+    private void replace(Long id, Document doc) {
+        Document previous = documents.get(id);
+        if (previous != null) {
+            remove(previous);
+            byPrice.remove(Collections.binarySearch(byPrice, previous, Document.PRICE_ORDER));
+        }
+        if (doc != null) {
+            add(doc);
+            int pos = Collections.binarySearch(byPrice, doc, Document.PRICE_ORDER);
+            byPrice.add(-pos - 1, doc);
+        }
+    }
+
+    /**
+     * Returns one page of ids of active mentors matching every filter in the request,
+     * in listing order for the given sort, starting strictly after the cursor.
+     */
+    public List<Long> search(SearchRequest request, MentorSort sort, MentorCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            and(matches, matchTerms(companyPostings, request.getCompany()));
+            and(matches, matchTerms(skillPostings, request.getSkill()));
+            and(matches, matchTerms(collegePostings, request.getCollegeName()));
+            if (request.getExperienceType() != null) {
+                and(matches, experiencePostings.getOrDefault(request.getExperienceType(), new BitSet()));
+            }
+            and(matches, matchPrice(request.getMinPrice(), request.getMaxPrice()));
+
+            // Max-heap on listing order holding the best `limit` documents seen so far
+            Comparator<Document> order = sort == MentorSort.PRICE ? Document.PRICE_ORDER : Document.NEWEST_ORDER;
+            PriorityQueue<Document> page = new PriorityQueue<>(limit + 1, order.reversed());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                Document doc = byOrdinal.get(i);
+                if (after != null && !isAfter(doc, after)) {
+                    continue;
+                }
+                if (page.size() < limit) {
+                    page.add(doc);
+                } else if (order.compare(doc, page.peek()) < 0) {
+                    page.poll();
+                    page.add(doc);
+                }
+            }
+
+            Document[] sorted = page.toArray(new Document[0]);
+            Arrays.sort(sorted, order);
+            List<Long> ids = new ArrayList<>(sorted.length);
+            for (Document doc : sorted) {
+                ids.add(doc.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isAfter(Document doc, MentorCursor cursor) {
+        if (cursor.getSort() == MentorSort.PRICE) {
+            int cmp = doc.price.compareTo(cursor.getPrice());
+            return cmp > 0 || (cmp == 0 && doc.id > cursor.getId());
+        }
+        int cmp = Document.NEWEST_FIRST.compare(doc.createdAt, cursor.getCreatedAt());
+        return cmp > 0 || (cmp == 0 && doc.id < cursor.getId());
+    }
+
+    private static void and(BitSet matches, BitSet filter) {
+        if (filter != null) {
+            matches.and(filter);
+        }
+    }
+
+    private BitSet matchTerms(Map<String, BitSet> postings, String query) {
+        if (query == null) {
+            return null;
+        }
+        String needle = query.toLowerCase();
+        BitSet ordinals = new BitSet();
+        for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+            if (entry.getKey().contains(needle)) {
+                ordinals.or(entry.getValue());
+            }
+        }
+        return ordinals;
+    }
+
+    private BitSet matchPrice(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        int from = minPrice == null ? 0 : lowerBound(minPrice);
+        int to = maxPrice == null ? byPrice.size() : upperBound(maxPrice);
+        BitSet ordinals = new BitSet();
+        for (int i = from; i < to; i++) {
+            ordinals.set(byPrice.get(i).ordinal);
+        }
+        return ordinals;
+    }
+
+    // First index whose price is >= value
+    private int lowerBound(BigDecimal value) {
+        int lo = 0;
+        int hi = byPrice.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byPrice.get(mid).price.compareTo(value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First index whose price is > value
+    private int upperBound(BigDecimal value) {
+        int lo = 0;
+        int hi = byPrice.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byPrice.get(mid).price.compareTo(value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void add(Document doc) {
+        Integer free = freeOrdinals.poll();
+        if (free != null) {
+            doc.ordinal = free;
+            byOrdinal.set(free, doc);
+        } else {
+            doc.ordinal = byOrdinal.size();
+            byOrdinal.add(doc);
+        }
+        documents.put(doc.id, doc);
+        live.set(doc.ordinal);
+
+        doc.skills.forEach(term -> skillPostings.computeIfAbsent(term, k -> new BitSet()).set(doc.ordinal));
+        doc.companies.forEach(term -> companyPostings.computeIfAbsent(term, k -> new BitSet()).set(doc.ordinal));
+        collegePostings.computeIfAbsent(doc.college, k -> new BitSet()).set(doc.ordinal);
+        experiencePostings.computeIfAbsent(doc.experienceType, k -> new BitSet()).set(doc.ordinal);
+    }
+
+    private void remove(Document doc) {
+        doc.skills.forEach(term -> removePosting(skillPostings, term, doc.ordinal));
+        doc.companies.forEach(term -> removePosting(companyPostings, term, doc.ordinal));
+        removePosting(collegePostings, doc.college, doc.ordinal);
+        experiencePostings.get(doc.experienceType).clear(doc.ordinal);
+
+        documents.remove(doc.id);
+        live.clear(doc.ordinal);
+        byOrdinal.set(doc.ordinal, null);
+        freeOrdinals.push(doc.ordinal);
+    }
+
+    private static void removePosting(Map<String, BitSet> postings, String term, int ordinal) {
+        BitSet ordinals = postings.get(term);
+        if (ordinals != null) {
+            ordinals.clear(ordinal);
+            if (ordinals.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static final class Document {
+
+        static final Comparator<Document> PRICE_ORDER = Comparator
+                .comparing((Document d) -> d.price)
+                .thenComparingLong(d -> d.id);
+
+        // Rows saved before created_at was set have none; they list last
+        static final Comparator<LocalDateTime> NEWEST_FIRST = Comparator.nullsLast(Comparator.reverseOrder());
+
+        static final Comparator<Document> NEWEST_ORDER = Comparator
+                .comparing((Document d) -> d.createdAt, NEWEST_FIRST)
+                .thenComparing((Document d) -> d.id, Comparator.reverseOrder());
+
+        final long id;
+        final Set<String> skills;
+        final Set<String> companies;
+        final String college;
+        final MentorProfile.ExperienceType experienceType;
+        final BigDecimal price;
+        final LocalDateTime createdAt;
+        int ordinal;
+
+        private Document(long id, Set<String> skills, Set<String> companies, String college,
+                MentorProfile.ExperienceType experienceType, BigDecimal price, LocalDateTime createdAt) {
+            this.id = id;
+            this.skills = skills;
+            this.companies = companies;
+            this.college = college;
+            this.experienceType = experienceType;
+            this.price = price;
+            this.createdAt = createdAt;
+        }
+
+        static Document of(MentorProfile profile) {
+            Set<String> skills = new HashSet<>();
+            if (profile.getSkills() != null) {
+                profile.getSkills().forEach(s -> skills.add(s.toLowerCase()));
+            }
+            Set<String> companies = new HashSet<>();
+            companies.add(profile.getCurrentCompany().toLowerCase());
+            if (profile.getPreviousCompanies() != null) {
+                profile.getPreviousCompanies().forEach(c -> companies.add(c.toLowerCase()));
+            }
+            return new Document(profile.getId(), skills, companies, profile.getCollegeName().toLowerCase(),
+                    profile.getExperienceType(), profile.getSessionPrice(), profile.getCreatedAt());
+        }
+    }
+}
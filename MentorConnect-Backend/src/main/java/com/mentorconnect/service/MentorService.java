@@ -1,24 +1,38 @@
 package com.mentorconnect.service;
 
 import com.mentorconnect.dto.AvailabilityDTO.*;
+import com.mentorconnect.dto.MentorCursor;
 import com.mentorconnect.dto.MentorDTO.*;
 import com.mentorconnect.entity.Availability;
 import com.mentorconnect.entity.MentorProfile;
 import com.mentorconnect.entity.User;
+import com.mentorconnect.event.MentorProfileChangedEvent;
+import com.mentorconnect.event.MentorScheduleChangedEvent;
 import com.mentorconnect.repository.AvailabilityRepository;
 import com.mentorconnect.repository.MentorProfileRepository;
+import com.mentorconnect.repository.MentorProfileSpecifications;
 import com.mentorconnect.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class MentorService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime LISTINGS_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
     @Autowired
     private MentorProfileRepository mentorProfileRepository;
 
@@ -28,12 +42,75 @@ public class MentorService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<ProfileResponse> getAllMentors() {
-        return mentorProfileRepository.findByIsActiveTrue().stream()
-                .map(this::toProfileResponse)
-                .collect(Collectors.toList());
+    @Autowired
+    private MentorSearchIndex mentorSearchIndex;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public ProfilePage getAllMentors(MentorSort sort, String cursor, Integer size) {
+        int limit = pageSize(size);
+        MentorCursor after = MentorCursor.decode(sort, cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<MentorProfile> rows = mentorProfileRepository.findBy(
+                MentorProfileSpecifications.isActive().and(MentorProfileSpecifications.after(after)),
+                query -> query.sortBy(MentorProfileSpecifications.sortOf(sort))
+                        .project("user")
+                        .limit(limit + 1)
+                        .all());
+        return toPage(sort, rows, limit);
+    }
+
+    /**
+     * Every page of the unfiltered listing at the default page size, in order, each with the
+     * cursor of the next. Used to build MentorListingSnapshot.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfilePage> getAllMentorPages(MentorSort sort) {
+        List<MentorProfile> rows = mentorProfileRepository.findBy(MentorProfileSpecifications.isActive(),
+                query -> query.sortBy(MentorProfileSpecifications.sortOf(sort))
+                        .project("user")
+                        .all());
+
+        List<ProfilePage> pages = new ArrayList<>();
+        for (int from = 0; from < rows.size() || pages.isEmpty(); from += DEFAULT_PAGE_SIZE) {
+            // One row past the page, as toPage expects, so the last page gets no cursor
+            pages.add(toPage(sort, rows.subList(from, Math.min(from + DEFAULT_PAGE_SIZE + 1, rows.size())),
+                    DEFAULT_PAGE_SIZE));
+        }
+        return pages;
     }
 
+    /**
+     * Last time any mentor profile or schedule changed, used to version the public listings.
+     * Read on the primary (not read-only): a lagging replica would keep serving the previous
+     * version, and clients would keep getting 304s for listings that have changed.
+     */
+    @Transactional
+    public LocalDateTime getListingsLastModified() {
+        LocalDateTime lastModified = mentorProfileRepository.findLastUpdatedAt();
+        return lastModified != null ? lastModified : LISTINGS_EPOCH;
+    }
+
+    /**
+     * Last time the mentor's profile or availability changed, or null if there is no such mentor.
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getMentorLastModified(Long id) {
+        return mentorProfileRepository.findById(id)
+                .map(MentorProfile::getUpdatedAt)
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
     public ProfileResponse getMentorById(Long id) {
         MentorProfile profile = mentorProfileRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Mentor not found"));
@@ -65,6 +142,7 @@ public class MentorService {
 
         MentorProfile profile = mentorProfileRepository.findByUser(user)
                 .orElse(MentorProfile.builder().user(user).build());
+        Integer previousDuration = profile.getId() != null ? profile.getSessionDuration() : null;
 
         profile.setWhatsappNumber(request.getWhatsappNumber());
         profile.setCollegeName(request.getCollegeName());
@@ -80,32 +158,66 @@ public class MentorService {
         profile.setSessionDuration(request.getSessionDuration() != null ? request.getSessionDuration() : 30);
 
         profile = mentorProfileRepository.save(profile);
+        if (previousDuration != null && !previousDuration.equals(profile.getSessionDuration())) {
+            // Slots are cut to the session length, so the whole calendar is regenerated
+            calendarService.regenerate(mentorProfileRepository.findByIdForUpdate(profile.getId()).orElseThrow());
+            eventPublisher.publishEvent(new MentorScheduleChangedEvent(profile.getId()));
+        }
+        eventPublisher.publishEvent(new MentorProfileChangedEvent(profile));
         return toProfileResponse(profile);
     }
 
-    public List<ProfileResponse> searchMentors(SearchRequest request) {
-        List<MentorProfile> mentors = mentorProfileRepository.findByIsActiveTrue();
-
-        return mentors.stream()
-                .filter(m -> request.getCompany() == null ||
-                        m.getCurrentCompany().toLowerCase().contains(request.getCompany().toLowerCase()) ||
-                        m.getPreviousCompanies().stream()
-                                .anyMatch(c -> c.toLowerCase().contains(request.getCompany().toLowerCase())))
-                .filter(m -> request.getSkill() == null ||
-                        m.getSkills().stream()
-                                .anyMatch(s -> s.toLowerCase().contains(request.getSkill().toLowerCase())))
-                .filter(m -> request.getCollegeName() == null ||
-                        m.getCollegeName().toLowerCase().contains(request.getCollegeName().toLowerCase()))
-                .filter(m -> request.getExperienceType() == null ||
-                        m.getExperienceType() == request.getExperienceType())
-                .filter(m -> request.getMinPrice() == null ||
-                        m.getSessionPrice().compareTo(request.getMinPrice()) >= 0)
-                .filter(m -> request.getMaxPrice() == null ||
-                        m.getSessionPrice().compareTo(request.getMaxPrice()) <= 0)
-                .map(this::toProfileResponse)
+    @Transactional(readOnly = true)
+    public ProfilePage searchMentors(SearchRequest request, MentorSort sort, String cursor, Integer size) {
+        int limit = pageSize(size);
+        MentorCursor after = MentorCursor.decode(sort, cursor);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean useIndex = mentorSearchIndex.isReady();
+        ProfilePage page = useIndex
+                ? searchIndex(request, sort, after, limit)
+                : searchDatabase(request, sort, after, limit);
+
+        String filters = filterTag(request);
+        sample.stop(meterRegistry.timer("mentorconnect.search",
+                "filters", filters, "source", useIndex ? "index" : "database"));
+        meterRegistry.summary("mentorconnect.search.results", "filters", filters).record(page.getItems().size());
+        return page;
+    }
+
+    private ProfilePage searchIndex(SearchRequest request, MentorSort sort, MentorCursor after, int limit) {
+        List<Long> ids = mentorSearchIndex.search(request, sort, after, limit + 1);
+        if (ids.isEmpty()) {
+            return new ProfilePage(List.of(), null);
+        }
+        Map<Long, MentorProfile> byId = mentorProfileRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(MentorProfile::getId, Function.identity()));
+        List<MentorProfile> rows = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return toPage(sort, rows, limit);
     }
 
+    // Index not built yet (startup) or disabled: filter in MySQL
+    private ProfilePage searchDatabase(SearchRequest request, MentorSort sort, MentorCursor after, int limit) {
+        List<MentorProfile> rows = mentorProfileRepository.findBy(
+                MentorProfileSpecifications.isActive()
+                        .and(MentorProfileSpecifications.matching(request))
+                        .and(MentorProfileSpecifications.after(after)),
+                query -> query.sortBy(MentorProfileSpecifications.sortOf(sort))
+                        .project("user")
+                        .limit(limit + 1)
+                        .all());
+        return toPage(sort, rows, limit);
+    }
+
+    /**
+     * Replaces the mentor's weekly windows. Only the difference is written: windows that are
+     * already stored keep their rows, missing ones are removed with one bulk DELETE and new
+     * ones are inserted in JDBC batches. Nothing is touched if the schedule is unchanged;
+     * otherwise the mentor's materialized calendar is regenerated under the mentor row lock.
+     */
     @Transactional
     public List<AvailabilityResponse> setAvailability(String email, BulkAvailabilityRequest request) {
         User user = userRepository.findByEmail(email)
@@ -114,36 +226,156 @@ public class MentorService {
         MentorProfile profile = mentorProfileRepository.findByUser(user)
                 .orElseThrow(() -> new RuntimeException("Mentor profile not found"));
 
-        // Clear existing availabilities
-        availabilityRepository.deleteByMentorId(profile.getId());
+        List<AvailabilityRequest> windows = request.getAvailabilities() != null
+                ? request.getAvailabilities() : List.of();
+        validateWindows(windows);
+
+        Map<String, Availability> existing = new HashMap<>();
+        List<Long> removed = new ArrayList<>();
+        for (Availability availability : availabilityRepository.findByMentorId(profile.getId())) {
+            String key = windowKey(availability.getDayOfWeek(), availability.getStartTime(), availability.getEndTime());
+            if (Boolean.TRUE.equals(availability.getIsActive()) && existing.putIfAbsent(key, availability) == null) {
+                continue;
+            }
+            removed.add(availability.getId());
+        }
 
-        List<Availability> availabilities = request.getAvailabilities().stream()
-                .map(req -> Availability.builder()
+        List<Availability> result = new ArrayList<>(windows.size());
+        List<Availability> added = new ArrayList<>();
+        for (AvailabilityRequest req : windows) {
+            Availability kept = existing.remove(windowKey(req.getDayOfWeek(), req.getStartTime(), req.getEndTime()));
+            if (kept == null) {
+                kept = Availability.builder()
                         .mentor(profile)
                         .dayOfWeek(req.getDayOfWeek())
                         .startTime(req.getStartTime())
                         .endTime(req.getEndTime())
                         .isActive(true)
-                        .build())
-                .collect(Collectors.toList());
+                        .build();
+                added.add(kept);
+            }
+            result.add(kept);
+        }
+        existing.values().forEach(availability -> removed.add(availability.getId()));
 
-        availabilities = availabilityRepository.saveAll(availabilities);
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            if (!removed.isEmpty()) {
+                availabilityRepository.deleteByIdIn(removed);
+            }
+            availabilityRepository.saveAll(added);
+            calendarService.regenerate(mentorProfileRepository.findByIdForUpdate(profile.getId()).orElseThrow());
+            // Availability is part of the profile's representation, so it versions it too
+            profile.setUpdatedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(new MentorScheduleChangedEvent(profile.getId()));
+            eventPublisher.publishEvent(new MentorProfileChangedEvent(profile));
+        }
 
-        return availabilities.stream()
+        return result.stream()
                 .map(AvailabilityResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    // Rejects empty/inverted windows and windows that overlap another on the same day
+    private static void validateWindows(List<AvailabilityRequest> windows) {
+        List<AvailabilityRequest> sorted = new ArrayList<>(windows);
+        sorted.sort(Comparator.comparing(AvailabilityRequest::getDayOfWeek)
+                .thenComparing(AvailabilityRequest::getStartTime));
+
+        AvailabilityRequest previous = null;
+        for (AvailabilityRequest window : sorted) {
+            if (!window.getStartTime().isBefore(window.getEndTime())) {
+                throw new RuntimeException("Availability on " + window.getDayOfWeek() + " must end after it starts ("
+                        + window.getStartTime() + "-" + window.getEndTime() + ")");
+            }
+            if (previous != null && previous.getDayOfWeek() == window.getDayOfWeek()
+                    && window.getStartTime().isBefore(previous.getEndTime())) {
+                throw new RuntimeException("Overlapping availability on " + window.getDayOfWeek() + ": "
+                        + previous.getStartTime() + "-" + previous.getEndTime() + " and "
+                        + window.getStartTime() + "-" + window.getEndTime());
+            }
+            previous = window;
+        }
+    }
+
+    private static String windowKey(DayOfWeek day, LocalTime start, LocalTime end) {
+        return day + "|" + start + "|" + end;
+    }
+
+    @Transactional(readOnly = true)
     public List<AvailabilityResponse> getAvailability(Long mentorId) {
         return availabilityRepository.findByMentorIdAndIsActiveTrue(mentorId).stream()
                 .map(AvailabilityResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    // e.g. "company+skill"; bounded to the 64 combinations of the six filters
+    private static String filterTag(SearchRequest request) {
+        StringJoiner filters = new StringJoiner("+");
+        if (request.getCompany() != null) {
+            filters.add("company");
+        }
+        if (request.getSkill() != null) {
+            filters.add("skill");
+        }
+        if (request.getCollegeName() != null) {
+            filters.add("college");
+        }
+        if (request.getExperienceType() != null) {
+            filters.add("experience");
+        }
+        if (request.getMinPrice() != null) {
+            filters.add("minPrice");
+        }
+        if (request.getMaxPrice() != null) {
+            filters.add("maxPrice");
+        }
+        return filters.length() > 0 ? filters.toString() : "none";
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private ProfilePage toPage(MentorSort sort, List<MentorProfile> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new ProfilePage(toProfileResponses(rows), null);
+        }
+        List<MentorProfile> page = rows.subList(0, limit);
+        String nextCursor = MentorCursor.of(sort, page.get(limit - 1)).encode();
+        return new ProfilePage(toProfileResponses(page), nextCursor);
+    }
+
+    /**
+     * Builds responses for a list of profiles with one availability query for the whole list.
+     * Users come from the entity graph on the finder and skills/companies are batch fetched.
+     */
+    private List<ProfileResponse> toProfileResponses(List<MentorProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = profiles.stream().map(MentorProfile::getId).collect(Collectors.toList());
+        Map<Long, List<AvailabilityResponse>> availabilityByMentor = availabilityRepository
+                .findByMentorIdInAndIsActiveTrue(ids).stream()
+                .collect(Collectors.groupingBy(a -> a.getMentor().getId(),
+                        Collectors.mapping(AvailabilityResponse::fromEntity, Collectors.toList())));
+
+        return profiles.stream()
+                .map(profile -> {
+                    ProfileResponse response = ProfileResponse.fromEntity(profile);
+                    response.setAvailabilities(availabilityByMentor.getOrDefault(profile.getId(), List.of()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     private ProfileResponse toProfileResponse(MentorProfile profile) {
         ProfileResponse response = ProfileResponse.fromEntity(profile);
         List<AvailabilityResponse> availabilities = availabilityRepository
-                .findByMentorAndIsActiveTrue(profile).stream()
+                .findByMentorIdAndIsActiveTrue(profile.getId()).stream()
                 .map(AvailabilityResponse::fromEntity)
                 .collect(Collectors.toList());
         response.setAvailabilities(availabilities);
@@ -5,9 +5,10 @@ import com.mentorconnect.entity.Booking;
 import com.mentorconnect.entity.Payment;
 import com.mentorconnect.repository.BookingRepository;
 import com.mentorconnect.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -23,9 +24,32 @@ public class PaymentService {
     @Autowired
     private BookingService bookingService;
 
-    @Transactional
-    public PaymentResponse processPayment(PaymentRequest request) {
-        Booking booking = bookingRepository.findById(request.getBookingId())
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Pays for a pending booking in one transaction. A repeated idempotency key returns the
+     * payment made by the first request instead of failing with "Payment already exists".
+     */
+    public PaymentResponse processPayment(String email, PaymentRequest request, String idempotencyKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            PaymentResponse response = idempotencyService.execute("payment", email, idempotencyKey,
+                    request, PaymentResponse.class, () -> doProcessPayment(request));
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("mentorconnect.payment.process", "outcome", outcome));
+        }
+    }
+
+    private PaymentResponse doProcessPayment(PaymentRequest request) {
+        // Locked until commit: the lifecycle job can't expire the hold while it's being paid for
+        Booking booking = bookingRepository.findByIdForUpdate(request.getBookingId())
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
         if (booking.getStatus() != Booking.BookingStatus.PENDING) {
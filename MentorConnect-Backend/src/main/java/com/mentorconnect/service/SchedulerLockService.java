@@ -0,0 +1,69 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.repository.SchedulerLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Runs a scheduled job on at most one node at a time, using a lease row per job in
+ * scheduler_locks (the same idea as ShedLock). lockAtMostFor bounds how long a crashed
+ * node keeps the job; lockAtLeastFor stops nodes with slightly different clocks from
+ * each running the same tick.
+ */
+@Service
+public class SchedulerLockService {
+
+    // pid@hostname, unique per running instance
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Runs the job if the lease could be taken; returns false if another node holds it.
+     */
+    public boolean runExclusively(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job) {
+        LocalDateTime lockedAt = LocalDateTime.now();
+        if (!tryLock(name, lockedAt, lockedAt.plus(lockAtMostFor))) {
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime earliest = lockedAt.plus(lockAtLeastFor);
+            LocalDateTime until = now.isAfter(earliest) ? now : earliest;
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLockRepository.release(name, OWNER, until));
+        }
+    }
+
+    private boolean tryLock(String name, LocalDateTime now, LocalDateTime until) {
+        Integer acquired = transactionTemplate.execute(status ->
+                schedulerLockRepository.acquire(name, OWNER, now, until));
+        if (acquired != null && acquired > 0) {
+            return true;
+        }
+        if (schedulerLockRepository.existsById(name)) {
+            return false;
+        }
+        // First run of this job anywhere: create the row, already held by us
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    schedulerLockRepository.create(name, OWNER, now, until));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.dto.AvailabilityDTO.SlotResponse;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.CalendarSlot;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.AvailabilityOverrideRepository;
+import com.mentorconnect.repository.AvailabilityRepository;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.repository.MentorProfileRepository;
+import com.mentorconnect.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Bookable slots: weekly Availability windows, adjusted by date overrides, cut into
+ * sessionDuration-sized slots, minus non-cancelled bookings. Days inside the materialized
+ * calendar window are read from calendar_slots with one indexed range query; days beyond
+ * it (or before a new mentor's calendar is first generated) are expanded on the fly.
+ *
+ * from/to are days in the viewer's zone: the one asked for, else the signed-in user's,
+ * else the mentor's.
+ */
+@Service
+public class SlotService {
+
+    private static final int MAX_RANGE_DAYS = 62;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private AvailabilityOverrideRepository availabilityOverrideRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Transactional(readOnly = true)
+    public List<SlotResponse> getOpenSlots(Long mentorId, LocalDate from, LocalDate to,
+                                           String timeZone, String viewerEmail) {
+        MentorProfile mentor = mentorProfileRepository.findById(mentorId)
+                .orElseThrow(() -> new RuntimeException("Mentor not found"));
+        ZoneId mentorZone = calendarService.zoneOf(mentor);
+        ZoneId zone = viewerZone(timeZone, viewerEmail, mentorZone);
+
+        LocalDate firstDay = from != null ? from : LocalDate.now(zone);
+        LocalDate lastDay = to != null ? to : firstDay.plusDays(6);
+        if (lastDay.isBefore(firstDay)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Instant rangeStart = firstDay.atStartOfDay(zone).toInstant();
+        Instant rangeEnd = lastDay.plusDays(1).atStartOfDay(zone).toInstant();
+        Instant now = Instant.now();
+        if (rangeStart.isBefore(now)) {
+            rangeStart = now;
+        }
+
+        LocalDate through = calendarService.materializedThrough(mentorId);
+        Instant firstComputed = rangeStart;
+        List<SlotResponse> open = new ArrayList<>();
+        if (through != null) {
+            Instant tableEnd = through.plusDays(1).atStartOfDay(mentorZone).toInstant();
+            Instant last = tableEnd.isBefore(rangeEnd) ? tableEnd : rangeEnd;
+            if (rangeStart.isBefore(last)) {
+                for (CalendarSlot slot : calendarService.findOpenSlots(mentorId, rangeStart, last)) {
+                    open.add(new SlotResponse(slot.getStartUtc(), slot.getEndUtc(), zone));
+                }
+                firstComputed = last;
+            }
+        }
+        if (firstComputed.isBefore(rangeEnd)) {
+            open.addAll(computeOpenSlots(mentor, mentorZone, firstComputed, rangeEnd, zone));
+        }
+        return open;
+    }
+
+    private ZoneId viewerZone(String timeZone, String viewerEmail, ZoneId mentorZone) {
+        if (timeZone != null && !timeZone.isBlank()) {
+            return timeZoneService.parse(timeZone);
+        }
+        User viewer = viewerEmail != null ? userRepository.findByEmail(viewerEmail).orElse(null) : null;
+        return viewer != null ? timeZoneService.zoneOf(viewer) : mentorZone;
+    }
+
+    // Slots starting in [from, to), expanded from the mentor-local days that range covers
+    private List<SlotResponse> computeOpenSlots(MentorProfile mentor, ZoneId mentorZone,
+                                                Instant from, Instant to, ZoneId zone) {
+        LocalDate firstDay = from.atZone(mentorZone).toLocalDate();
+        LocalDate lastDay = to.atZone(mentorZone).toLocalDate();
+        NavigableMap<Instant, Instant> slots = calendarService.expand(mentorZone, mentor.getSessionDuration(),
+                availabilityRepository.findByMentorIdAndIsActiveTrue(mentor.getId()),
+                availabilityOverrideRepository.findByMentorIdAndOverrideDateBetweenOrderByOverrideDateAscStartTimeAsc(
+                        mentor.getId(), firstDay, lastDay),
+                firstDay, lastDay).subMap(from, true, to, false);
+        if (slots.isEmpty()) {
+            return List.of();
+        }
+        List<Booking> bookings = bookingRepository.findActiveStartingBetween(mentor.getId(),
+                from.minus(BookingRepository.MAX_SESSION_LENGTH), slots.lastEntry().getValue());
+
+        List<SlotResponse> open = new ArrayList<>();
+        slots.forEach((start, end) -> {
+            boolean taken = bookings.stream().anyMatch(b ->
+                    b.getStartUtc().isBefore(end) && start.isBefore(b.getEndUtc()));
+            if (!taken) {
+                open.add(new SlotResponse(start, end, zone));
+            }
+        });
+        return open;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+/**
+ * Resolves the zone a user's dates and times are read and shown in. Instants are stored in
+ * UTC; wall-clock values only exist at the API edge (requests, responses, emails) and in a
+ * mentor's weekly availability, which is kept in the mentor's own zone.
+ */
+@Service
+public class TimeZoneService {
+
+    // Zone for users who never chose one; existing schedules were entered in it
+    @Value("${app.time-zone.default:}")
+    private String defaultZone;
+
+    public ZoneId defaultZone() {
+        return defaultZone == null || defaultZone.isBlank() ? ZoneId.systemDefault() : parse(defaultZone);
+    }
+
+    public ZoneId zoneOf(User user) {
+        return user != null && user.getTimeZone() != null ? parse(user.getTimeZone()) : defaultZone();
+    }
+
+    /**
+     * Zone named in a request, or the user's zone if the request doesn't name one.
+     */
+    public ZoneId zoneOf(String requested, User user) {
+        return requested != null && !requested.isBlank() ? parse(requested) : zoneOf(user);
+    }
+
+    public ZoneId parse(String zoneId) {
+        try {
+            return ZoneId.of(zoneId);
+        } catch (DateTimeException e) {
+            throw new RuntimeException("Unknown time zone: " + zoneId);
+        }
+    }
+}
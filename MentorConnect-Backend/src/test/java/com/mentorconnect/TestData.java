@@ -0,0 +1,83 @@
+package com.mentorconnect;
+
+import com.mentorconnect.dto.AvailabilityDTO.AvailabilityRequest;
+import com.mentorconnect.dto.AvailabilityDTO.BulkAvailabilityRequest;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.MentorProfileRepository;
+import com.mentorconnect.repository.UserRepository;
+import com.mentorconnect.service.MentorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users and mentor profiles for integration tests. Every call creates new rows with unique
+ * emails, so tests sharing the application context (and its database) don't see each other's data.
+ */
+@TestComponent
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MentorProfileRepository mentorProfileRepository;
+
+    @Autowired
+    private MentorService mentorService;
+
+    public User mentee() {
+        return user(User.Role.MENTEE);
+    }
+
+    public MentorProfile mentor(int sessionDuration) {
+        return mentorProfileRepository.save(MentorProfile.builder()
+                .user(user(User.Role.MENTOR))
+                .whatsappNumber("+910000000000")
+                .collegeName("IIT Delhi")
+                .passoutYear(2018)
+                .currentCompany("Google")
+                .experienceType(MentorProfile.ExperienceType.FULLTIME)
+                .skills(new ArrayList<>(List.of("Java")))
+                .sessionPrice(new BigDecimal("500.00"))
+                .sessionDuration(sessionDuration)
+                .build());
+    }
+
+    /**
+     * Sets the same window on every day of the week, which materializes the mentor's calendar.
+     */
+    public void availableDaily(MentorProfile mentor, LocalTime start, LocalTime end) {
+        List<AvailabilityRequest> windows = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            AvailabilityRequest window = new AvailabilityRequest();
+            window.setDayOfWeek(day);
+            window.setStartTime(start);
+            window.setEndTime(end);
+            windows.add(window);
+        }
+        BulkAvailabilityRequest request = new BulkAvailabilityRequest();
+        request.setAvailabilities(windows);
+        mentorService.setAvailability(mentor.getUser().getEmail(), request);
+    }
+
+    private User user(User.Role role) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .email(role.name().toLowerCase() + n + "@test.mentorconnect")
+                .name(role.name().charAt(0) + role.name().substring(1).toLowerCase() + " " + n)
+                .password("not-a-hash")
+                .role(role)
+                .timeZone("UTC")
+                .build());
+    }
+}
@@ -0,0 +1,167 @@
+package com.mentorconnect.config;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.BookingDTO.BookingRequest;
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.ProfilePage;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.service.BookingService;
+import com.mentorconnect.service.MentorService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Read/write routing over two separate H2 databases, linked the way the replica-h2 profile
+ * links them: read-only service methods must be served by the replica pool and writes by the
+ * primary, and replica reads must not fill Hibernate's caches.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.h2-link=true",
+        // No background reads while connections are being counted
+        "app.mentor-snapshot.enabled=false"
+})
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ReadReplicaRoutingTest {
+
+    @SpyBean(name = "primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @SpyBean(name = "replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MentorService mentorService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    private MentorProfile mentor;
+    private User mentee;
+
+    @BeforeEach
+    void setUp() {
+        mentee = testData.mentee();
+        mentor = testData.mentor(60);
+        testData.availableDaily(mentor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        // Reads must reach a database, not the second-level cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+        clearInvocations(primaryDataSource, replicaDataSource);
+    }
+
+    @Test
+    void mentorListingReadsFromReplica() throws Exception {
+        ProfilePage page = mentorService.getAllMentors(MentorSort.NEWEST, null, 100);
+
+        assertThat(page.getItems()).anyMatch(profile -> profile.getId().equals(mentor.getId()));
+        verify(replicaDataSource, atLeastOnce()).getConnection();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    @Test
+    void mentorBookingsReadFromReplica() throws Exception {
+        BookingResponse booking = book();
+        clearInvocations(primaryDataSource, replicaDataSource);
+
+        List<BookingResponse> bookings = bookingService.getMentorBookings(mentor.getUser().getEmail());
+
+        assertThat(bookings).extracting(BookingResponse::getId).containsExactly(booking.getId());
+        verify(replicaDataSource, atLeastOnce()).getConnection();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    @Test
+    void listingsVersionReadsFromPrimary() throws Exception {
+        long queryPuts = entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getQueryCachePutCount();
+
+        mentorService.getListingsLastModified();
+
+        verify(primaryDataSource, atLeastOnce()).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getQueryCachePutCount())
+                .isEqualTo(queryPuts);
+    }
+
+    @Test
+    void writesGoToPrimary() throws Exception {
+        book();
+
+        verify(primaryDataSource, atLeastOnce()).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    void replicaRejectsWrites() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Long.class,
+                mentee.getId())).isEqualTo(1);
+        assertThatThrownBy(() -> replica.update("DELETE FROM users WHERE id = ?", mentee.getId()))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void replicaReadsDoNotFillCaches() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        long queryPuts = statistics.getQueryCachePutCount();
+
+        mentorService.getMentorById(mentor.getId());
+
+        assertThat(sessionFactory.getCache().containsEntity(MentorProfile.class, mentor.getId())).isFalse();
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(queryPuts);
+
+        // The same read on the primary does
+        transactionTemplate.executeWithoutResult(status -> mentorService.getMentorById(mentor.getId()));
+
+        assertThat(sessionFactory.getCache().containsEntity(MentorProfile.class, mentor.getId())).isTrue();
+        assertThat(statistics.getQueryCachePutCount()).isGreaterThan(queryPuts);
+    }
+
+    private BookingResponse book() {
+        BookingRequest request = new BookingRequest();
+        request.setMentorId(mentor.getId());
+        request.setScheduledDate(LocalDate.now(ZoneOffset.UTC).plusDays(3));
+        request.setScheduledTime(LocalTime.of(10, 0));
+        request.setTimeZone("UTC");
+        return bookingService.createBooking(mentee.getEmail(), request, null);
+    }
+}
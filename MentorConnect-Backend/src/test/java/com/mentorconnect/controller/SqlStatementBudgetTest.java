@@ -0,0 +1,125 @@
+package com.mentorconnect.controller;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.BookingDTO.BookingRequest;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.metrics.SqlStatementBudget;
+import com.mentorconnect.service.BookingService;
+import com.mentorconnect.service.MentorListingSnapshot;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for the listing endpoints, measured with cold second-level and query
+ * caches so an N+1 over the rows (lazy collections, mentor.user, mentee) fails the test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class SqlStatementBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MentorListingSnapshot mentorListingSnapshot;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestData testData;
+
+    private MentorProfile mentor;
+    private User mentee;
+
+    @BeforeEach
+    void createRows() {
+        mentee = testData.mentee();
+        for (int i = 0; i < ROWS; i++) {
+            mentor = testData.mentor(60);
+            BookingRequest request = new BookingRequest();
+            request.setMentorId(mentor.getId());
+            request.setScheduledDate(LocalDate.now(ZoneOffset.UTC).plusDays(3));
+            request.setScheduledTime(LocalTime.of(9 + i, 0));
+            request.setTimeZone("UTC");
+            bookingService.createBooking(mentee.getEmail(), request, null);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+    }
+
+    @Test
+    void mentorListing() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (mentorListingSnapshot.page(MentorSort.NEWEST, null, null) == null) {
+            assertThat(System.currentTimeMillis()).as("snapshot built").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        SqlStatementBudget.expectAtMost(3, "GET /api/mentors", () ->
+                mockMvc.perform(get("/api/mentors")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void mentorListingFromDatabase() {
+        // A non-default page size is always read from the database: the page (with users) plus
+        // one batch per collection (availability, skills, previous companies) and the version
+        int statements = SqlStatementBudget.expectAtMost(5, "GET /api/mentors?size=50", this::listFromDatabase);
+
+        for (int i = 0; i < ROWS; i++) {
+            testData.mentor(30);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+        assertThat(listFromDatabase()).as("statements with more mentors").isEqualTo(statements);
+    }
+
+    private int listFromDatabase() {
+        return SqlStatementBudget.count(() ->
+                mockMvc.perform(get("/api/mentors").param("size", "50")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void menteeBookings() {
+        SqlStatementBudget.expectAtMost(3, "GET /api/bookings/mentee", () ->
+                mockMvc.perform(get("/api/bookings/mentee").with(user(mentee.getEmail()).roles("MENTEE")))
+                        .andExpect(status().isOk()));
+        SqlStatementBudget.expectAtMost(3, "GET /api/bookings/mentee/page", () ->
+                mockMvc.perform(get("/api/bookings/mentee/page").with(user(mentee.getEmail()).roles("MENTEE")))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void mentorBookings() {
+        String email = mentor.getUser().getEmail();
+        SqlStatementBudget.expectAtMost(3, "GET /api/bookings/mentor", () ->
+                mockMvc.perform(get("/api/bookings/mentor").with(user(email).roles("MENTOR")))
+                        .andExpect(status().isOk()));
+        SqlStatementBudget.expectAtMost(3, "GET /api/bookings/mentor/page", () ->
+                mockMvc.perform(get("/api/bookings/mentor/page").with(user(email).roles("MENTOR")))
+                        .andExpect(status().isOk()));
+    }
+}
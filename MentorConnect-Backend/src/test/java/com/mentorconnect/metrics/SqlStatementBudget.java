@@ -0,0 +1,51 @@
+package com.mentorconnect.metrics;
+
+import org.springframework.util.function.ThrowingSupplier;
+
+/**
+ * Statement budgets for integration tests, e.g.
+ * <pre>
+ * SqlStatementBudget.expectAtMost(3, "GET /api/mentors",
+ *         () -> mockMvc.perform(get("/api/mentors")).andExpect(status().isOk()));
+ * </pre>
+ * Counts come from {@link SqlStatementCounter}, so the application must run with it as
+ * Hibernate's statement inspector (the default in application.yml).
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Runs the action and returns how many SQL statements it issued on this thread.
+     */
+    public static int count(ThrowingSupplier<?> action) {
+        int statements;
+        SqlStatementCounter.begin();
+        try {
+            action.get();
+        } finally {
+            statements = SqlStatementCounter.end();
+        }
+        return statements;
+    }
+
+    /**
+     * Runs the action and fails with an AssertionError if it issued more than maxStatements.
+     */
+    public static <T> T expectAtMost(int maxStatements, String description, ThrowingSupplier<T> action) {
+        T result;
+        int statements;
+        SqlStatementCounter.begin();
+        try {
+            result = action.get();
+        } finally {
+            statements = SqlStatementCounter.end();
+        }
+        if (statements > maxStatements) {
+            throw new AssertionError(description + " issued " + statements
+                    + " SQL statements, budget is " + maxStatements);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,272 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.BookingDTO.BookingRequest;
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.dto.PaymentDTO.PaymentRequest;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.CalendarSlot;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.repository.PaymentRepository;
+import com.mentorconnect.repository.SchedulerLockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The lifecycle job's two batches, and holds being paid for while the job expires them:
+ * every hold must end up either paid (CONFIRMED, slot kept) or expired (CANCELLED, slot
+ * freed), never a confirmed booking whose slot was handed back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class BookingLifecycleSchedulerTest {
+
+    private static final String LOCK_NAME = "booking-lifecycle";
+    private static final Duration SESSION = Duration.ofMinutes(60);
+
+    @Autowired
+    private BookingLifecycleScheduler scheduler;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TestData testData;
+
+    private MentorProfile mentor;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        // Switched off in the test profile so it only runs when a test runs it
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        mentor = testData.mentor(60);
+        testData.availableDaily(mentor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        day = LocalDate.now(ZoneOffset.UTC).plusDays(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+    }
+
+    @Test
+    void expiresStalePendingHolds() {
+        BookingResponse stale = book(testData.mentee(), LocalTime.of(10, 0));
+        BookingResponse fresh = book(testData.mentee(), LocalTime.of(11, 0));
+        createdMinutesAgo(stale, 31);
+
+        runJob();
+
+        assertThat(status(stale)).isEqualTo(Booking.BookingStatus.CANCELLED);
+        assertThat(status(fresh)).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(isOpen(stale)).as("expired hold's slot is free").isTrue();
+        assertThat(isOpen(fresh)).isFalse();
+    }
+
+    @Test
+    void completesEndedSessions() {
+        User mentee = testData.mentee();
+        BookingResponse ended = book(mentee, LocalTime.of(10, 0));
+        BookingResponse upcoming = book(mentee, LocalTime.of(11, 0));
+        pay(mentee, ended);
+        pay(mentee, upcoming);
+        startedAt(ended, Instant.now().minus(Duration.ofHours(2)));
+
+        runJob();
+
+        assertThat(status(ended)).isEqualTo(Booking.BookingStatus.COMPLETED);
+        assertThat(status(upcoming)).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void holdPaidWhileExpiringKeepsItsSlot() throws Exception {
+        // The payment holds the booking row lock when the job reaches its UPDATE
+        User mentee = testData.mentee();
+        BookingResponse hold = book(mentee, LocalTime.of(10, 0));
+        createdMinutesAgo(hold, 31);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> payment = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookingRepository.findByIdForUpdate(hold.getId()).orElseThrow();
+                locked.countDown();
+                sleep(500);
+                bookingService.confirmBooking(hold.getId());
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            runJob();
+            payment.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(status(hold)).isEqualTo(Booking.BookingStatus.CONFIRMED);
+        assertThat(isOpen(hold)).as("confirmed booking's slot").isFalse();
+    }
+
+    @Test
+    void concurrentPaymentsAndExpiryNeverBothWin() throws Exception {
+        int holds = 6;
+        List<User> mentees = new ArrayList<>();
+        List<BookingResponse> bookings = new ArrayList<>();
+        for (int i = 0; i < holds; i++) {
+            User mentee = testData.mentee();
+            BookingResponse hold = book(mentee, LocalTime.of(9 + i, 0));
+            createdMinutesAgo(hold, 31);
+            mentees.add(mentee);
+            bookings.add(hold);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(holds + 1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < holds; i++) {
+                User mentee = mentees.get(i);
+                BookingResponse hold = bookings.get(i);
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        pay(mentee, hold);
+                    } catch (RuntimeException e) {
+                        // Lost to the job
+                        assertThat(e).hasMessage("Booking is not in pending status");
+                    }
+                    return null;
+                }));
+            }
+            tasks.add(executor.submit(() -> {
+                start.await();
+                runJob();
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (BookingResponse hold : bookings) {
+            Booking.BookingStatus status = status(hold);
+            boolean paid = paymentRepository.findByBookingId(hold.getId()).isPresent();
+            if (status == Booking.BookingStatus.CONFIRMED) {
+                assertThat(paid).isTrue();
+                assertThat(isOpen(hold)).as("slot of paid booking %d", hold.getId()).isFalse();
+            } else {
+                assertThat(status).isEqualTo(Booking.BookingStatus.CANCELLED);
+                assertThat(paid).as("payment for expired booking %d", hold.getId()).isFalse();
+                assertThat(isOpen(hold)).as("slot of expired booking %d", hold.getId()).isTrue();
+            }
+        }
+    }
+
+    // The job holds its lease for half an interval; clearing it stands in for the next tick
+    private void runJob() {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLockRepository.findById(LOCK_NAME).ifPresent(schedulerLockRepository::delete));
+        scheduler.run();
+    }
+
+    private BookingResponse book(User mentee, LocalTime time) {
+        BookingRequest request = new BookingRequest();
+        request.setMentorId(mentor.getId());
+        request.setScheduledDate(day);
+        request.setScheduledTime(time);
+        request.setTimeZone("UTC");
+        return bookingService.createBooking(mentee.getEmail(), request, null);
+    }
+
+    private void pay(User mentee, BookingResponse booking) {
+        PaymentRequest request = new PaymentRequest();
+        request.setBookingId(booking.getId());
+        paymentService.processPayment(mentee.getEmail(), request, null);
+    }
+
+    private void createdMinutesAgo(BookingResponse booking, long minutes) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Booking b SET b.createdAt = :createdAt WHERE b.id = :id")
+                .setParameter("createdAt", booking.getCreatedAt().minusMinutes(minutes))
+                .setParameter("id", booking.getId())
+                .executeUpdate());
+    }
+
+    private void startedAt(BookingResponse booking, Instant start) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Booking b SET b.startUtc = :start, b.endUtc = :end WHERE b.id = :id")
+                .setParameter("start", start)
+                .setParameter("end", start.plus(SESSION))
+                .setParameter("id", booking.getId())
+                .executeUpdate());
+    }
+
+    private Booking.BookingStatus status(BookingResponse booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private boolean isOpen(BookingResponse booking) {
+        return calendarService.findOpenSlots(mentor.getId(), booking.getStartUtc(), booking.getEndUtc()).stream()
+                .map(CalendarSlot::getStartUtc)
+                .anyMatch(booking.getStartUtc()::equals);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
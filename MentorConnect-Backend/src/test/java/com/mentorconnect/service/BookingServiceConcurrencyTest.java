@@ -0,0 +1,149 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.BookingDTO.BookingRequest;
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.CalendarSlot;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many mentees racing for the same mentor time: the mentor row lock must let exactly one
+ * reservation through, whether the time is a materialized slot or off the slot grid.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void sameSlotIsBookedOnce() throws Exception {
+        MentorProfile mentor = testData.mentor(60);
+        testData.availableDaily(mentor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+
+        List<BookingResponse> booked = race(mentor, day, List.of(LocalTime.of(10, 0)));
+
+        assertThat(booked).hasSize(1);
+        assertThat(activeBookings(mentor)).singleElement()
+                .satisfies(booking -> assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.PENDING));
+        Instant start = day.atTime(10, 0).toInstant(ZoneOffset.UTC);
+        assertThat(calendarService.findOpenSlots(mentor.getId(), start, start.plusSeconds(3600)))
+                .extracting(CalendarSlot::getStartUtc)
+                .doesNotContain(start);
+    }
+
+    @Test
+    void overlappingTimesAreBookedOnce() throws Exception {
+        MentorProfile mentor = testData.mentor(60);
+        testData.availableDaily(mentor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+
+        // One on the slot grid, the rest off it; every pair overlaps within a 60 minute session
+        List<BookingResponse> booked = race(mentor, day, List.of(
+                LocalTime.of(10, 0), LocalTime.of(10, 15), LocalTime.of(10, 30), LocalTime.of(10, 45)));
+
+        assertThat(booked).hasSize(1);
+        assertThat(activeBookings(mentor)).singleElement()
+                .satisfies(booking -> assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.PENDING));
+    }
+
+    @Test
+    void overlappingTimesWithoutCalendarAreBookedOnce() throws Exception {
+        // No availability set: nothing is materialized, so every check uses the overlap query
+        MentorProfile mentor = testData.mentor(45);
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+
+        List<BookingResponse> booked = race(mentor, day, List.of(
+                LocalTime.of(14, 0), LocalTime.of(14, 20), LocalTime.of(14, 40)));
+
+        assertThat(booked).hasSize(1);
+        assertThat(activeBookings(mentor)).hasSize(1);
+    }
+
+    // THREADS mentees, released together, each asking for one of the times (round robin)
+    private List<BookingResponse> race(MentorProfile mentor, LocalDate day, List<LocalTime> times)
+            throws InterruptedException {
+        List<User> mentees = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            mentees.add(testData.mentee());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                BookingRequest request = new BookingRequest();
+                request.setMentorId(mentor.getId());
+                request.setScheduledDate(day);
+                request.setScheduledTime(times.get(i % times.size()));
+                request.setTimeZone("UTC");
+                String email = mentees.get(i).getEmail();
+                Callable<BookingResponse> reserve = () -> {
+                    start.await();
+                    return bookingService.createBooking(email, request, null);
+                };
+                results.add(executor.submit(reserve));
+            }
+            start.countDown();
+
+            List<BookingResponse> booked = new ArrayList<>();
+            for (Future<BookingResponse> result : results) {
+                try {
+                    booked.add(result.get(60, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).hasMessage("This time slot is already booked");
+                } catch (java.util.concurrent.TimeoutException e) {
+                    throw new AssertionError("Reservation did not finish", e);
+                }
+            }
+            return booked;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Booking> activeBookings(MentorProfile mentor) {
+        return bookingRepository.findByMentorIdOrderByScheduledDateDescScheduledTimeDesc(mentor.getId()).stream()
+                .filter(booking -> booking.getStatus() != Booking.BookingStatus.CANCELLED)
+                .toList();
+    }
+}
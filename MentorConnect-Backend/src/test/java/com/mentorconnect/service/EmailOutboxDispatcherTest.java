@@ -0,0 +1,174 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.entity.EmailOutbox;
+import com.mentorconnect.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Outbox delivery against a fake SMTP server (a mocked JavaMailSenderImpl): retries with
+ * exponential backoff, dead-lettering, partial batch failures, and sending outside any
+ * transaction with the claimed rows leased.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    @MockBean
+    private JavaMailSenderImpl mailSender;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.mail.outbox.backoff-seconds}")
+    private long backoffSeconds;
+
+    @Value("${app.mail.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.lease-seconds}")
+    private long leaseSeconds;
+
+    @BeforeEach
+    void emptyOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendsDueMessages() {
+        EmailOutbox email = enqueue("a@test.mentorconnect");
+
+        dispatcher.dispatch();
+
+        EmailOutbox sent = reload(email);
+        assertThat(sent.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void retriesWithBackoffThenDeadLetters() {
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+        EmailOutbox email = enqueue("b@test.mentorconnect");
+        double dead = meterRegistry.counter("mentorconnect.email.messages", "outcome", "dead").count();
+
+        for (int attempt = 1; attempt < maxAttempts; attempt++) {
+            LocalDateTime before = LocalDateTime.now();
+            dispatcher.dispatch();
+
+            EmailOutbox failed = reload(email);
+            assertThat(failed.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.PENDING);
+            assertThat(failed.getAttempts()).isEqualTo(attempt);
+            assertThat(failed.getLastError()).isEqualTo("connection refused");
+            // 1x, 2x, 4x, ... the base backoff
+            assertThat(failed.getNextAttemptAt())
+                    .isCloseTo(before.plusSeconds(backoffSeconds << (attempt - 1)), within(5, ChronoUnit.SECONDS));
+
+            // Not due yet: another poll leaves it alone
+            dispatcher.dispatch();
+            assertThat(reload(email).getAttempts()).isEqualTo(attempt);
+
+            makeDue(email);
+        }
+
+        dispatcher.dispatch();
+
+        EmailOutbox deadLettered = reload(email);
+        assertThat(deadLettered.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.DEAD);
+        assertThat(deadLettered.getAttempts()).isEqualTo(maxAttempts);
+        assertThat(meterRegistry.counter("mentorconnect.email.messages", "outcome", "dead").count())
+                .isEqualTo(dead + 1);
+    }
+
+    @Test
+    void partialFailureRetriesOnlyFailedMessages() {
+        doAnswer(invocation -> {
+            SimpleMailMessage[] messages = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            SimpleMailMessage rejected = Arrays.stream(messages)
+                    .filter(message -> message.getTo()[0].startsWith("rejected"))
+                    .findFirst().orElseThrow();
+            throw new MailSendException(Map.of(rejected, new Exception("mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        EmailOutbox accepted = enqueue("accepted@test.mentorconnect");
+        EmailOutbox rejected = enqueue("rejected@test.mentorconnect");
+
+        dispatcher.dispatch();
+
+        assertThat(reload(accepted).getStatus()).isEqualTo(EmailOutbox.OutboxStatus.SENT);
+        EmailOutbox retry = reload(rejected);
+        assertThat(retry.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.PENDING);
+        assertThat(retry.getAttempts()).isEqualTo(1);
+        assertThat(retry.getLastError()).isEqualTo("mailbox unavailable");
+    }
+
+    @Test
+    void sendsOutsideTransactionWithRowsLeased() {
+        List<EmailOutbox> seenWhileSending = new ArrayList<>();
+        List<Boolean> inTransaction = new ArrayList<>();
+        EmailOutbox email = enqueue("c@test.mentorconnect");
+        doAnswer(invocation -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            // Read through another connection: the claim has committed, so the lease is visible
+            seenWhileSending.add(reload(email));
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        assertThat(inTransaction).containsExactly(false);
+        assertThat(seenWhileSending).singleElement().satisfies(leased -> {
+            assertThat(leased.getStatus()).isEqualTo(EmailOutbox.OutboxStatus.PENDING);
+            assertThat(leased.getNextAttemptAt()).isAfterOrEqualTo(before.plus(Duration.ofSeconds(leaseSeconds)));
+        });
+        assertThat(reload(email).getStatus()).isEqualTo(EmailOutbox.OutboxStatus.SENT);
+    }
+
+    private EmailOutbox enqueue(String recipient) {
+        return emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Booking confirmed")
+                .body("See you there")
+                .build());
+    }
+
+    private EmailOutbox reload(EmailOutbox email) {
+        return emailOutboxRepository.findById(email.getId()).orElseThrow();
+    }
+
+    private void makeDue(EmailOutbox email) {
+        EmailOutbox due = reload(email);
+        due.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        emailOutboxRepository.save(due);
+    }
+}
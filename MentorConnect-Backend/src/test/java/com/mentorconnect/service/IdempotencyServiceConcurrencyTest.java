@@ -0,0 +1,180 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.BookingDTO.BookingRequest;
+import com.mentorconnect.dto.BookingDTO.BookingResponse;
+import com.mentorconnect.dto.PaymentDTO.PaymentRequest;
+import com.mentorconnect.dto.PaymentDTO.PaymentResponse;
+import com.mentorconnect.entity.Booking;
+import com.mentorconnect.entity.MentorProfile;
+import com.mentorconnect.entity.User;
+import com.mentorconnect.repository.BookingRepository;
+import com.mentorconnect.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retries of one request racing each other: with the same Idempotency-Key the work must run
+ * once and every other request replay its response, and a key reused for a different request
+ * must be rejected.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class IdempotencyServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestData testData;
+
+    private MentorProfile mentor;
+    private User mentee;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        mentor = testData.mentor(60);
+        testData.availableDaily(mentor, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        mentee = testData.mentee();
+        day = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+    }
+
+    @Test
+    void sameKeyBooksOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        BookingRequest request = bookingRequest(LocalTime.of(10, 0));
+        double replays = replays("booking");
+
+        List<BookingResponse> responses = race(THREADS,
+                i -> () -> bookingService.createBooking(mentee.getEmail(), request, key));
+
+        assertThat(responses).hasSize(THREADS);
+        assertThat(responses).extracting(BookingResponse::getId).containsOnly(responses.get(0).getId());
+        assertThat(activeBookings()).singleElement()
+                .satisfies(booking -> assertThat(booking.getId()).isEqualTo(responses.get(0).getId()));
+        assertThat(replays("booking")).isEqualTo(replays + THREADS - 1);
+    }
+
+    @Test
+    void sameKeyPaysOnce() throws Exception {
+        BookingResponse booking = bookingService.createBooking(mentee.getEmail(), bookingRequest(LocalTime.of(11, 0)), null);
+        String key = UUID.randomUUID().toString();
+        PaymentRequest request = new PaymentRequest();
+        request.setBookingId(booking.getId());
+        double replays = replays("payment");
+
+        List<PaymentResponse> responses = race(THREADS,
+                i -> () -> paymentService.processPayment(mentee.getEmail(), request, key));
+
+        assertThat(responses).hasSize(THREADS);
+        assertThat(responses).extracting(PaymentResponse::getId).containsOnly(responses.get(0).getId());
+        assertThat(paymentRepository.findByBookingId(booking.getId())).hasValueSatisfying(
+                payment -> assertThat(payment.getId()).isEqualTo(responses.get(0).getId()));
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.CONFIRMED);
+        assertThat(replays("payment")).isEqualTo(replays + THREADS - 1);
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        List<BookingRequest> requests = List.of(bookingRequest(LocalTime.of(13, 0)), bookingRequest(LocalTime.of(15, 0)));
+
+        List<BookingResponse> responses = race(2,
+                i -> () -> bookingService.createBooking(mentee.getEmail(), requests.get(i), key));
+
+        // The other one failed with the mismatch (checked in race)
+        assertThat(responses).hasSize(1);
+        assertThat(activeBookings()).hasSize(1);
+    }
+
+    // Requests released together; a request that fails must fail because its key was reused
+    private <T> List<T> race(int threads, IntFunction<Callable<T>> requests)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Callable<T> request = requests.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return request.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> responses = new ArrayList<>();
+            for (Future<T> result : results) {
+                try {
+                    responses.add(result.get(60, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).hasMessage("Idempotency-Key was already used for a different request");
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Request did not finish", e);
+                }
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BookingRequest bookingRequest(LocalTime time) {
+        BookingRequest request = new BookingRequest();
+        request.setMentorId(mentor.getId());
+        request.setScheduledDate(day);
+        request.setScheduledTime(time);
+        request.setTimeZone("UTC");
+        return request;
+    }
+
+    private List<Booking> activeBookings() {
+        return bookingRepository.findByMentorIdOrderByScheduledDateDescScheduledTimeDesc(mentor.getId()).stream()
+                .filter(booking -> booking.getStatus() != Booking.BookingStatus.CANCELLED)
+                .toList();
+    }
+
+    private double replays(String scope) {
+        return meterRegistry.counter("mentorconnect.idempotency.replays", "scope", scope).count();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.dto.MentorCursor;
+import com.mentorconnect.dto.MentorDTO.MentorSort;
+import com.mentorconnect.dto.MentorDTO.SearchRequest;
+import com.mentorconnect.entity.MentorProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The search index against H2: changes it was never told about (made on another node) must be
+ * picked up by the version check, and profiles without a creation time must not break paging.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class MentorSearchIndexTest {
+
+    @Autowired
+    private MentorSearchIndex mentorSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void versionCheckPicksUpChangesMadeElsewhere() {
+        // Saved through the repository: no change event reaches the index
+        MentorProfile mentor = testData.mentor(60);
+        assertThat(search("IIT Delhi")).doesNotContain(mentor.getId());
+
+        mentorSearchIndex.rebuildIfStale();
+        assertThat(search("IIT Delhi")).contains(mentor.getId());
+
+        // Behind Hibernate's back, so this node's caches still hold the old row
+        String college = "College " + mentor.getId();
+        jdbcTemplate.update("UPDATE mentor_profiles SET college_name = ?, updated_at = ? WHERE id = ?",
+                college, LocalDateTime.now(), mentor.getId());
+
+        mentorSearchIndex.rebuildIfStale();
+        assertThat(search(college)).containsExactly(mentor.getId());
+    }
+
+    @Test
+    void profilesWithoutCreationTimeListLast() {
+        MentorProfile dated = profile(1L, LocalDateTime.of(2024, 1, 1, 0, 0));
+        MentorProfile undated = profile(2L, null);
+        MentorSearchIndex index = new MentorSearchIndex();
+        index.load(List.of(undated, dated));
+
+        assertThat(index.search(new SearchRequest(), MentorSort.NEWEST, null, 10)).containsExactly(1L, 2L);
+        assertThat(index.search(new SearchRequest(), MentorSort.NEWEST, MentorCursor.of(MentorSort.NEWEST, dated), 10))
+                .containsExactly(2L);
+    }
+
+    private List<Long> search(String college) {
+        SearchRequest request = new SearchRequest();
+        request.setCollegeName(college);
+        return mentorSearchIndex.search(request, MentorSort.PRICE, null, 1000);
+    }
+
+    private static MentorProfile profile(Long id, LocalDateTime createdAt) {
+        return MentorProfile.builder()
+                .id(id)
+                .collegeName("IIT Delhi")
+                .currentCompany("Google")
+                .experienceType(MentorProfile.ExperienceType.FULLTIME)
+                .sessionPrice(new BigDecimal("500.00"))
+                .isActive(true)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.mentorconnect.service;
+
+import com.mentorconnect.TestData;
+import com.mentorconnect.entity.SchedulerLock;
+import com.mentorconnect.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class SchedulerLockServiceTest {
+
+    private static final Duration AT_MOST = Duration.ofMinutes(10);
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void firstRunCreatesLeaseAndKeepsItForAtLeast() {
+        String name = jobName();
+        AtomicInteger runs = new AtomicInteger();
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(schedulerLockService.runExclusively(name, AT_MOST, Duration.ofMinutes(1), runs::incrementAndGet))
+                .isTrue();
+
+        assertThat(runs).hasValue(1);
+        SchedulerLock lock = schedulerLockRepository.findById(name).orElseThrow();
+        assertThat(lock.getLockedUntil()).isAfterOrEqualTo(before.plusMinutes(1));
+        // Still inside lockAtLeastFor: the next tick is skipped
+        assertThat(schedulerLockService.runExclusively(name, AT_MOST, Duration.ZERO, runs::incrementAndGet))
+                .isFalse();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void leaseHeldByAnotherNodeIsNotTaken() {
+        String name = jobName();
+        heldBy(name, "other-node", LocalDateTime.now().plusMinutes(5));
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(schedulerLockService.runExclusively(name, AT_MOST, Duration.ZERO, runs::incrementAndGet))
+                .isFalse();
+
+        assertThat(runs).hasValue(0);
+        assertThat(schedulerLockRepository.findById(name).orElseThrow().getLockedBy()).isEqualTo("other-node");
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        // A node that died mid-run: its lease ran out after lockAtMostFor
+        String name = jobName();
+        heldBy(name, "crashed-node", LocalDateTime.now().minusSeconds(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(schedulerLockService.runExclusively(name, AT_MOST, Duration.ZERO, runs::incrementAndGet))
+                .isTrue();
+
+        assertThat(runs).hasValue(1);
+        assertThat(schedulerLockRepository.findById(name).orElseThrow().getLockedBy()).isNotEqualTo("crashed-node");
+    }
+
+    @Test
+    void concurrentFirstRunsRunOnce() throws Exception {
+        String name = jobName();
+        int threads = 8;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return schedulerLockService.runExclusively(name, AT_MOST, Duration.ofMinutes(1), () -> {
+                        runs.incrementAndGet();
+                        sleep(200);
+                    });
+                }));
+            }
+            start.countDown();
+
+            int ran = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    ran++;
+                }
+            }
+            assertThat(ran).isEqualTo(1);
+            assertThat(runs).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void heldBy(String name, String owner, LocalDateTime until) {
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLockRepository.create(name, owner, LocalDateTime.now().minusMinutes(10), until));
+    }
+
+    private static String jobName() {
+        return "test-" + UUID.randomUUID();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -33,6 +33,7 @@ const Register = () => {
         password: '',
         phone: '',
         role: defaultRole,
+        timeZone: Intl.DateTimeFormat().resolvedOptions().timeZone,
     });
     const [loading, setLoading] = useState(false);
     const { register } = useAuth();
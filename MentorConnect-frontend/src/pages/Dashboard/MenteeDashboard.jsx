@@ -53,8 +53,8 @@ const MenteeDashboard = () => {
     const getActualStatus = (booking) => {
         // If status is CONFIRMED, check if the booking date has passed
         if (booking.status === 'CONFIRMED') {
-            const [day, month, year] = booking.scheduledDate.split('-').map(Number);
-            const [hours, minutes] = booking.scheduledTime.split(':').map(Number);
+            const [day, month, year] = booking.localDate.split('-').map(Number);
+            const [hours, minutes] = booking.localTime.split(':').map(Number);
             const bookingDateTime = new Date(year, month - 1, day, hours, minutes);
             const now = new Date();
 
@@ -153,7 +153,7 @@ const MenteeDashboard = () => {
                                                     <Stack direction="row" alignItems="center" spacing={0.5}>
                                                         <EventIcon sx={{ fontSize: 18, color: 'text.secondary' }} />
                                                         <Typography variant="body2" color="text.secondary">
-                                                            {booking.scheduledDate} at {booking.scheduledTime}
+                                                            {booking.localDate} at {booking.localTime}
                                                         </Typography>
                                                     </Stack>
                                                     <Stack direction="row" alignItems="center" spacing={0.5}>
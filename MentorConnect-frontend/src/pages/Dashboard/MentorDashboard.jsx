@@ -64,8 +64,8 @@ const MentorDashboard = () => {
         if (b.status !== 'CONFIRMED') return false;
         
         // Parse the scheduled date and time
-        const [day, month, year] = b.scheduledDate.split('-').map(Number);
-        const [hours, minutes] = b.scheduledTime.split(':').map(Number);
+        const [day, month, year] = b.localDate.split('-').map(Number);
+        const [hours, minutes] = b.localTime.split(':').map(Number);
         const bookingDateTime = new Date(year, month - 1, day, hours, minutes);
         const now = new Date();
         
@@ -313,7 +313,7 @@ const MentorDashboard = () => {
                                                             <Box sx={{ display: 'flex', alignItems: 'center', gap: 1 }}>
                                                                 <EventIcon sx={{ fontSize: 18, color: 'text.secondary' }} />
                                                                 <Typography variant="body2" color="text.secondary">
-                                                                    {booking.scheduledDate} at {booking.scheduledTime}
+                                                                    {booking.localDate} at {booking.localTime}
                                                                 </Typography>
                                                             </Box>
                                                             <Box sx={{ display: 'flex', alignItems: 'center', gap: 1 }}>
@@ -27,6 +27,9 @@ import SearchIcon from '@mui/icons-material/Search';
 const BrowseMentors = () => {
     const [mentors, setMentors] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    const [appliedFilters, setAppliedFilters] = useState({});
     const [filters, setFilters] = useState({
         company: '',
         skill: '',
@@ -37,14 +40,20 @@ const BrowseMentors = () => {
         fetchMentors();
     }, []);
 
+    const fetchPage = (searchFilters, cursor) => {
+        const hasFilters = Object.values(searchFilters).some(v => v);
+        return hasFilters
+            ? mentorsAPI.search({ ...searchFilters, cursor })
+            : mentorsAPI.getAll({ cursor });
+    };
+
     const fetchMentors = async (searchFilters = {}) => {
         try {
             setLoading(true);
-            const hasFilters = Object.values(searchFilters).some(v => v);
-            const data = hasFilters
-                ? await mentorsAPI.search(searchFilters)
-                : await mentorsAPI.getAll();
-            setMentors(data);
+            const page = await fetchPage(searchFilters);
+            setMentors(page.items);
+            setNextCursor(page.nextCursor);
+            setAppliedFilters(searchFilters);
         } catch (error) {
             console.error('Failed to fetch mentors:', error);
         } finally {
@@ -52,6 +61,19 @@ const BrowseMentors = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const page = await fetchPage(appliedFilters, nextCursor);
+            setMentors((prev) => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error('Failed to fetch mentors:', error);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleSearch = (e) => {
         e.preventDefault();
         fetchMentors(filters);
@@ -170,13 +192,22 @@ const BrowseMentors = () => {
                         </Typography>
                     </Box>
                 ) : (
-                    <Grid container spacing={3}>
-                        {mentors.map((mentor, idx) => (
-                            <Grid item xs={12} sm={6} md={4} key={mentor.id}>
-                                <MentorCard mentor={mentor} delay={idx * 0.05} />
-                            </Grid>
-                        ))}
-                    </Grid>
+                    <>
+                        <Grid container spacing={3}>
+                            {mentors.map((mentor, idx) => (
+                                <Grid item xs={12} sm={6} md={4} key={mentor.id}>
+                                    <MentorCard mentor={mentor} delay={idx * 0.05} />
+                                </Grid>
+                            ))}
+                        </Grid>
+                        {nextCursor && (
+                            <Box sx={{ display: 'flex', justifyContent: 'center', mt: 4 }}>
+                                <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+                                    {loadingMore ? <CircularProgress size={24} /> : 'Load more'}
+                                </Button>
+                            </Box>
+                        )}
+                    </>
                 )}
             </Container>
         </Box>
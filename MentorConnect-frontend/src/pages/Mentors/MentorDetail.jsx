@@ -81,8 +81,8 @@ const MentorDetail = () => {
         if (!mentor || !date || !time) return true;
 
         const conflict = existingBookings.some(booking => {
-            if (booking.scheduledDate === date) {
-                const bookingTime = booking.scheduledTime;
+            if (booking.localDate === date) {
+                const bookingTime = booking.localTime;
                 const [bookingHour, bookingMin] = bookingTime.split(':').map(Number);
                 const [requestedHour, requestedMin] = time.split(':').map(Number);
 
@@ -127,6 +127,7 @@ const MentorDetail = () => {
                 mentorId: mentor.id,
                 scheduledDate: selectedDate,
                 scheduledTime: selectedTime,
+                timeZone: Intl.DateTimeFormat().resolvedOptions().timeZone,
                 notes,
             };
             const newBooking = await bookingsAPI.create(bookingData);
@@ -361,11 +362,11 @@ const MentorDetail = () => {
                                                         <Stack spacing={1}>
                                                             <Stack direction="row" alignItems="center" spacing={1}>
                                                                 <EventIcon sx={{ fontSize: 18, color: 'text.secondary' }} />
-                                                                <Typography variant="body2">{booking.scheduledDate}</Typography>
+                                                                <Typography variant="body2">{booking.localDate}</Typography>
                                                             </Stack>
                                                             <Stack direction="row" alignItems="center" spacing={1}>
                                                                 <AccessTimeIcon sx={{ fontSize: 18, color: 'text.secondary' }} />
-                                                                <Typography variant="body2">{booking.scheduledTime}</Typography>
+                                                                <Typography variant="body2">{booking.localTime}</Typography>
                                                             </Stack>
                                                             <Divider sx={{ my: 1 }} />
                                                             <Typography variant="subtitle1" fontWeight={600}>
@@ -45,7 +45,13 @@ export const authAPI = {
 
 // Mentors API
 export const mentorsAPI = {
-  getAll: () => apiCall('/mentors'),
+  // Returns a page: { items, nextCursor }. Pass nextCursor back to load the next page.
+  getAll: (params = {}) => {
+    const queryString = new URLSearchParams(
+      Object.entries(params).filter(([_, v]) => v)
+    ).toString();
+    return apiCall(`/mentors${queryString ? `?${queryString}` : ''}`);
+  },
 
   getById: (id) => apiCall(`/mentors/${id}`),
 